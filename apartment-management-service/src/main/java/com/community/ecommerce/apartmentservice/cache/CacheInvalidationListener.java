@@ -0,0 +1,66 @@
+package com.community.ecommerce.apartmentservice.cache;
+
+import com.community.ecommerce.common.events.CacheInvalidationEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+// Every instance consumes the whole topic under its own consumer group, starting from the latest offset.
+// A message older than max-lag means this instance may have missed others, so it flushes everything.
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final LocalCacheEvictor localCacheEvictor;
+    private final String instanceId;
+    private final Duration maxLag;
+    private final Clock clock;
+    private Instant lastFullFlush = Instant.EPOCH;
+
+    @Autowired
+    public CacheInvalidationListener(LocalCacheEvictor localCacheEvictor,
+                                     CacheInvalidationPublisher cacheInvalidationPublisher,
+                                     @Value("${app.cache.invalidation.max-lag:30s}") Duration maxLag) {
+        this(localCacheEvictor, cacheInvalidationPublisher.getInstanceId(), maxLag, Clock.systemUTC());
+    }
+
+    CacheInvalidationListener(LocalCacheEvictor localCacheEvictor, String instanceId, Duration maxLag, Clock clock) {
+        this.localCacheEvictor = localCacheEvictor;
+        this.instanceId = instanceId;
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    @KafkaListener(topics = "${app.cache.invalidation.topic:cache-invalidation-events}",
+            groupId = "${spring.application.name}-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onCacheInvalidation(ConsumerRecord<String, CacheInvalidationEvent> record) {
+        CacheInvalidationEvent event = record.value();
+        Instant sentAt = Instant.ofEpochMilli(record.timestamp());
+        // Already covered by a full flush that happened after this message was sent
+        if (instanceId.equals(event.origin()) || sentAt.isBefore(lastFullFlush)) {
+            return;
+        }
+        Instant now = clock.instant();
+        if (event.fullFlush() || Duration.between(sentAt, now).compareTo(maxLag) > 0) {
+            logger.info("Flushing local caches ({})", event.fullFlush() ? "requested by " + event.origin() : "consumer lagging");
+            localCacheEvictor.flushAll();
+            lastFullFlush = now;
+        } else if (event.entityId() == null) {
+            localCacheEvictor.evictAll(event.entityType());
+        } else {
+            localCacheEvictor.evict(event.entityType(), event.entityId());
+        }
+    }
+}
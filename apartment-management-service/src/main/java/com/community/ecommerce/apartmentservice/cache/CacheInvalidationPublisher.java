@@ -0,0 +1,57 @@
+package com.community.ecommerce.apartmentservice.cache;
+
+import com.community.ecommerce.common.events.CacheInvalidationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Broadcasts cache invalidations to every instance of every service through one Kafka topic.
+// Messages are keyed by entity so invalidations for the same entity stay in order.
+@Component
+public class CacheInvalidationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final boolean enabled;
+    private final String instanceId;
+
+    public CacheInvalidationPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                      @Value("${app.cache.invalidation.topic:cache-invalidation-events}") String topic,
+                                      @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+                                      @Value("${spring.application.name}") String applicationName) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.enabled = enabled;
+        this.instanceId = applicationName + ":" + UUID.randomUUID();
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void publishEviction(String entityType, Long entityId) {
+        send(entityType + ":" + entityId, CacheInvalidationEvent.evict(entityType, entityId, instanceId));
+    }
+
+    public void publishEvictAll(String entityType) {
+        send(entityType, CacheInvalidationEvent.evictAll(entityType, instanceId));
+    }
+
+    public void publishFlushAll() {
+        send("*", CacheInvalidationEvent.flushAll(instanceId));
+    }
+
+    private void send(String key, CacheInvalidationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        logger.debug("Publishing CacheInvalidationEvent: {}", event);
+        kafkaTemplate.send(topic, key, event);
+    }
+}
@@ -0,0 +1,80 @@
+package com.community.ecommerce.apartmentservice.cache;
+
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.event.ApartmentChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Publishes an invalidation for every committed update or delete of an entity held in the second-level
+// cache or in an application cache, whichever code path made the change.
+@Component
+@RequiredArgsConstructor
+public class EntityCacheInvalidationHook implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final LocalCacheEvictor localCacheEvictor;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back, nothing changed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back, nothing changed
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache() || localCacheEvictor.hasApplicationCache(persister.getMappedClass());
+    }
+
+    // Soft deletes are bulk updates, which Hibernate does not report to the listeners above
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApartmentChanged(ApartmentChangedEvent event) {
+        if (event.isDeleted()) {
+            cacheInvalidationPublisher.publishEviction(
+                    entityManagerFactory.getMetamodel().entity(Apartment.class).getName(), event.apartmentId());
+        }
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        String entityType = entityManagerFactory.getMetamodel().entity(persister.getMappedClass()).getName();
+        if (id instanceof Long entityId) {
+            cacheInvalidationPublisher.publishEviction(entityType, entityId);
+        } else {
+            cacheInvalidationPublisher.publishEvictAll(entityType);
+        }
+    }
+}
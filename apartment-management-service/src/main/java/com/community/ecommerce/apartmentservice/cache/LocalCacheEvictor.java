@@ -0,0 +1,74 @@
+package com.community.ecommerce.apartmentservice.cache;
+
+import com.community.ecommerce.apartmentservice.config.CacheConfig;
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Drops entries from this instance's second-level cache and from the application caches keyed by
+// entity id. Entity types are JPA entity names, and types this service does not map are ignored.
+// Cached collections live in regions of their own, keyed by owner id, so they are evicted with their owner.
+@Component
+@RequiredArgsConstructor
+public class LocalCacheEvictor {
+
+    private static final Map<Class<?>, String> APPLICATION_CACHES = Map.of(
+            Apartment.class, CacheConfig.APARTMENTS_CACHE);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+
+    public boolean hasApplicationCache(Class<?> entityClass) {
+        return APPLICATION_CACHES.containsKey(entityClass);
+    }
+
+    public void evict(String entityType, Long entityId) {
+        entity(entityType).ifPresent(entity -> {
+            entityManagerFactory.getCache().evict(entity.getJavaType(), entityId);
+            collectionRoles(entity).forEach(role -> secondLevelCache().evictCollectionData(role, entityId));
+            applicationCache(entity.getJavaType()).ifPresent(cache -> cache.evict(entityId));
+        });
+    }
+
+    public void evictAll(String entityType) {
+        entity(entityType).ifPresent(entity -> {
+            entityManagerFactory.getCache().evict(entity.getJavaType());
+            collectionRoles(entity).forEach(role -> secondLevelCache().evictCollectionData(role));
+            applicationCache(entity.getJavaType()).ifPresent(Cache::clear);
+        });
+    }
+
+    public void flushAll() {
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> Optional.ofNullable(cacheManager.getCache(name)).ifPresent(Cache::clear));
+    }
+
+    private Optional<Cache> applicationCache(Class<?> entityClass) {
+        return Optional.ofNullable(APPLICATION_CACHES.get(entityClass)).map(cacheManager::getCache);
+    }
+
+    private Optional<EntityType<?>> entity(String entityType) {
+        return entityManagerFactory.getMetamodel().getEntities().stream()
+                .filter(entity -> entity.getName().equals(entityType))
+                .findFirst();
+    }
+
+    private org.hibernate.Cache secondLevelCache() {
+        return entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+    }
+
+    // Hibernate names a collection role after the class declaring it, e.g. "...entity.Apartment.apartmentBlocks".
+    // Roles without a cache region are ignored by the evict calls.
+    private static Stream<String> collectionRoles(EntityType<?> entity) {
+        return entity.getPluralAttributes().stream()
+                .map(attribute -> attribute.getDeclaringType().getJavaType().getName() + "." + attribute.getName());
+    }
+}
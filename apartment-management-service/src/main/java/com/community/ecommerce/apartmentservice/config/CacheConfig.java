@@ -0,0 +1,12 @@
+package com.community.ecommerce.apartmentservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caffeine-backed, sized and expired through spring.cache.caffeine.spec
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String APARTMENTS_CACHE = "apartments";
+}
@@ -0,0 +1,69 @@
+package com.community.ecommerce.apartmentservice.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+public class ReplicationLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+    // A verdict older than this is not trusted, e.g. when a busy scheduler has stopped running the check
+    private final Duration maxCheckAge;
+    private final Clock clock;
+
+    // Reads stay on the primary until the first check has confirmed the replica is usable
+    private volatile boolean replicaAvailable = false;
+    private volatile Instant lastSuccessfulCheck;
+
+    public ReplicationLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this(replica, lagQuery, maxLag, checkInterval, Clock.systemUTC());
+    }
+
+    ReplicationLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval, Clock clock) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.replicaJdbcTemplate.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.maxCheckAge = checkInterval.multipliedBy(2);
+        this.clock = clock;
+    }
+
+    public boolean isReplicaAvailable() {
+        Instant checkedAt = lastSuccessfulCheck;
+        return replicaAvailable && checkedAt != null
+                && !checkedAt.plus(maxCheckAge).isBefore(clock.instant());
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkReplicationLag() {
+        boolean available;
+        try {
+            Double lagSeconds = replicaJdbcTemplate.queryForObject(lagQuery, Double.class);
+            available = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+            if (!available) {
+                logger.debug("Replica lag of {}s exceeds {}", lagSeconds, maxLag);
+            }
+        } catch (Exception e) {
+            logger.debug("Replica lag check failed: {}", e.getMessage());
+            available = false;
+        }
+        if (available != replicaAvailable) {
+            logger.warn(available ? "Read replica caught up, routing read-only transactions to it"
+                    : "Read replica unavailable or lagging, routing read-only transactions to the primary");
+        }
+        if (available) {
+            lastSuccessfulCheck = clock.instant();
+        }
+        replicaAvailable = available;
+    }
+}
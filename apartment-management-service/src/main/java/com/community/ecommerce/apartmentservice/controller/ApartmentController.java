@@ -2,8 +2,11 @@ package com.community.ecommerce.apartmentservice.controller;
 
 import com.community.ecommerce.apartmentservice.dto.ApartmentRegistrationRequest;
 import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentScrollResponse;
 import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
 import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.model.ApartmentSortKey;
 import com.community.ecommerce.apartmentservice.service.ApartmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,14 +18,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
 @Tag(name = "Apartment Management", description = "APIs for managing apartment listings")
 public class ApartmentController {
 
+    private static final int MAX_SCROLL_SIZE = 1000;
+
     private final ApartmentService apartmentService;
     private final ApartmentMapper apartmentMapper;
 
@@ -41,37 +48,100 @@ public class ApartmentController {
     }
 
     @Operation(summary = "Get all apartments",
-               description = "Retrieve a paginated and sortable list of all apartment listings.",
+               description = "Retrieve a paginated and sortable list of all apartment listings. "
+                       + "fields limits each apartment to the listed properties, e.g. fields=id,blockNames.",
                responses = {
                    @ApiResponse(responseCode = "200", description = "List of apartments retrieved")
                })
     @GetMapping("/api/v1/apartments")
-    public ResponseEntity<Page<ApartmentResponse>> getApartments(Pageable pageable) {
-        Page<ApartmentDomain> apartmentDomainPage = apartmentService.getAllApartments(pageable);
-        return ResponseEntity.ok(apartmentDomainPage.map(apartmentMapper::toResponse));
+    public ResponseEntity<Page<ApartmentResponse>> getApartments(@RequestParam(required = false) String fields,
+                                                                 Pageable pageable) {
+        return ResponseEntity.ok(apartmentService.getApartmentResponses(pageable, ApartmentField.parse(fields)));
+    }
+
+    @Operation(summary = "Scroll all apartments",
+               description = "Cursor-paginated listing for crawling every apartment. Pass nextCursor from the previous page as cursor "
+                       + "until it is null. Pages stay consistent while apartments are added or removed, and deep pages cost "
+                       + "the same as the first. sort is id (default) or apartmentName, ascending; size is capped at "
+                       + MAX_SCROLL_SIZE + ".",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Page of apartments retrieved"),
+                   @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or fields")
+               })
+    @GetMapping("/api/v1/apartments/scroll")
+    public ResponseEntity<ApartmentScrollResponse> scrollApartments(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "20") int size,
+                                                                    @RequestParam(required = false) String sort,
+                                                                    @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(apartmentService.scrollApartmentResponses(cursor, scrollSize(size),
+                ApartmentSortKey.parse(sort), ApartmentField.parse(fields)));
     }
 
     @Operation(summary = "Get apartment by ID",
-               description = "Retrieve an apartment listing by its ID.",
+               description = "Retrieve an apartment listing by its ID. Send the ETag from a previous read as If-None-Match to get 304 when it is unchanged. "
+                       + "fields limits the response to the listed properties, e.g. fields=id,blockNames.",
                responses = {
                    @ApiResponse(responseCode = "200", description = "Apartment found"),
+                   @ApiResponse(responseCode = "304", description = "Apartment not modified"),
                    @ApiResponse(responseCode = "404", description = "Apartment not found")
                })
     @GetMapping("/api/v1/apartments/{id}")
-    public ResponseEntity<ApartmentResponse> getApartmentById(@PathVariable Long id) {
-        ApartmentDomain apartmentDomain = apartmentService.getApartmentById(id);
-        return ResponseEntity.ok(apartmentMapper.toResponse(apartmentDomain));
+    public ResponseEntity<ApartmentResponse> getApartmentById(@PathVariable Long id,
+                                                              @RequestParam(required = false) String fields,
+                                                              WebRequest request) {
+        Set<ApartmentField> requested = ApartmentField.parse(fields);
+        // Complete apartments come from the cache; a field selection loads just what it needs
+        ApartmentDomain apartmentDomain = requested.containsAll(ApartmentField.ALL)
+                ? apartmentService.getApartmentById(id)
+                : apartmentService.getApartmentById(id, requested);
+        String eTag = eTag(apartmentDomain.getVersion());
+        // Sets 304 and the ETag header on the response when If-None-Match matches
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(ApartmentResponse.projected(apartmentMapper.toResponse(apartmentDomain), requested));
+    }
+
+    @Operation(summary = "Check that an apartment has a block",
+               description = "Answers with a status code only, so HEAD works as well as GET. On 404, GET explains whether "
+                       + "the apartment or the block is missing.",
+               responses = {
+                   @ApiResponse(responseCode = "204", description = "Block exists"),
+                   @ApiResponse(responseCode = "404", description = "Apartment or block not found")
+               })
+    @GetMapping("/api/v1/apartments/{id}/blocks/{blockName}")
+    public ResponseEntity<Void> checkBlockExists(@PathVariable Long id, @PathVariable String blockName) {
+        apartmentService.verifyBlockExists(id, blockName);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Search apartments by name",
-               description = "Search for apartment listings by name with pagination and sorting.",
+               description = "Search for apartment listings by name with pagination and sorting. "
+                       + "fields limits each apartment to the listed properties.",
                responses = {
                    @ApiResponse(responseCode = "200", description = "List of apartments retrieved")
                })
     @GetMapping("/api/v1/apartments/search")
-    public ResponseEntity<Page<ApartmentResponse>> searchApartmentsByName(@RequestParam String name, Pageable pageable) {
-        Page<ApartmentDomain> apartmentDomainPage = apartmentService.searchApartmentsByName(name, pageable);
-        return ResponseEntity.ok(apartmentDomainPage.map(apartmentMapper::toResponse));
+    public ResponseEntity<Page<ApartmentResponse>> searchApartmentsByName(@RequestParam String name,
+                                                                          @RequestParam(required = false) String fields,
+                                                                          Pageable pageable) {
+        return ResponseEntity.ok(apartmentService.searchApartmentResponsesByName(name, pageable, ApartmentField.parse(fields)));
+    }
+
+    @Operation(summary = "Scroll apartments by name",
+               description = "Cursor-paginated name search, with the same cursor, sort and size rules as the apartment scroll.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Page of apartments retrieved"),
+                   @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or fields")
+               })
+    @GetMapping("/api/v1/apartments/search/scroll")
+    public ResponseEntity<ApartmentScrollResponse> scrollApartmentsByName(@RequestParam String name,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "20") int size,
+                                                                          @RequestParam(required = false) String sort,
+                                                                          @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(apartmentService.scrollApartmentResponsesByName(name, cursor, scrollSize(size),
+                ApartmentSortKey.parse(sort), ApartmentField.parse(fields)));
     }
 
     @Operation(summary = "Update an apartment",
@@ -86,7 +156,7 @@ public class ApartmentController {
             @Valid @RequestBody ApartmentRegistrationRequest apartmentRegistrationRequest) {
         ApartmentDomain apartmentDomain = apartmentMapper.toDomain(apartmentRegistrationRequest);
         ApartmentDomain updatedApartment = apartmentService.updateApartment(id, apartmentDomain);
-        return ResponseEntity.ok(apartmentMapper.toResponse(updatedApartment));
+        return ResponseEntity.ok().eTag(eTag(updatedApartment.getVersion())).body(apartmentMapper.toResponse(updatedApartment));
     }
 
     @Operation(summary = "Delete an apartment",
@@ -100,4 +170,12 @@ public class ApartmentController {
         apartmentService.deleteApartment(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static int scrollSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
 }
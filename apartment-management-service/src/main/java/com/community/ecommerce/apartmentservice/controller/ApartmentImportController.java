@@ -0,0 +1,56 @@
+package com.community.ecommerce.apartmentservice.controller;
+
+import com.community.ecommerce.apartmentservice.importer.ImportFormat;
+import com.community.ecommerce.apartmentservice.service.ApartmentImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Apartment Import", description = "Bulk onboarding of apartment listings")
+public class ApartmentImportController {
+
+    private final ApartmentImportService apartmentImportService;
+    private final ObjectMapper objectMapper;
+
+    @Operation(summary = "Bulk import apartments",
+               description = "Streams an NDJSON (one registration request per line) or CSV upload into the database in chunks. "
+                       + "The response is NDJSON: an error line per rejected row, a progress line per committed chunk "
+                       + "and a final completed line with the totals.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Import report streamed")
+               })
+    @PostMapping(value = "/api/v1/apartments/import",
+            consumes = {ImportFormat.NDJSON_MEDIA_TYPE, ImportFormat.CSV_MEDIA_TYPE},
+            produces = ImportFormat.NDJSON_MEDIA_TYPE)
+    public void importApartments(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(ImportFormat.NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+        // Each report line is flushed straight away so clients can follow the import as it runs
+        apartmentImportService.importApartments(request.getReader(), format, event -> {
+            try {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
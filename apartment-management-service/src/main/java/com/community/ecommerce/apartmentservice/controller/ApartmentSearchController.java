@@ -0,0 +1,87 @@
+package com.community.ecommerce.apartmentservice.controller;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentLocationSearchResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentSuggestion;
+import com.community.ecommerce.apartmentservice.dto.SearchIndexRebuildResponse;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.service.ApartmentSearchService;
+import com.community.ecommerce.apartmentservice.service.ApartmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Apartment Search", description = "Full-text search over apartment listings")
+public class ApartmentSearchController {
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final ApartmentSearchService apartmentSearchService;
+    private final ApartmentService apartmentService;
+
+    @Operation(summary = "Full-text search apartments",
+               description = "Relevance-ranked search over apartment name, address, city, state, zipcode and block names. "
+                       + "Served from the search index; sorting parameters are ignored.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "List of apartments retrieved")
+               })
+    @GetMapping("/api/v1/apartments/search/full-text")
+    public ResponseEntity<Page<ApartmentResponse>> searchApartments(@RequestParam String q, Pageable pageable) {
+        return ResponseEntity.ok(apartmentSearchService.searchApartments(q, pageable));
+    }
+
+    @Operation(summary = "Autocomplete apartment names",
+               description = "Returns up to limit apartments whose name starts with q, ignoring case and accents.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Suggestions retrieved")
+               })
+    @GetMapping("/api/v1/apartments/suggest")
+    public ResponseEntity<List<ApartmentSuggestion>> suggestApartments(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(apartmentSearchService.suggestApartments(q, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @Operation(summary = "Search apartments by location",
+               description = "Filters apartments by state, city and zipcode, and returns apartment counts per state, "
+                       + "per city within the selected state and per zipcode within the selected city. "
+                       + "fields limits each apartment to the listed properties, e.g. fields=id,apartmentName.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Apartments and location facets retrieved")
+               })
+    @GetMapping("/api/v1/apartments/locations")
+    public ResponseEntity<ApartmentLocationSearchResponse> searchApartmentsByLocation(
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String zipcode,
+            @RequestParam(required = false) String fields,
+            Pageable pageable) {
+        Page<ApartmentResponse> apartments = apartmentService.searchApartmentResponsesByLocation(
+                state, city, zipcode, pageable, ApartmentField.parse(fields));
+        return ResponseEntity.ok(new ApartmentLocationSearchResponse(apartments,
+                apartmentSearchService.getLocationFacets(state, city)));
+    }
+
+    @Operation(summary = "Rebuild the search index",
+               description = "Re-indexes every apartment from the database and reloads the name suggester and location facets.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Search index rebuilt")
+               })
+    @PostMapping("/api/v1/apartments/search/index/rebuild")
+    public ResponseEntity<SearchIndexRebuildResponse> rebuildIndex() {
+        long start = System.currentTimeMillis();
+        int indexed = apartmentSearchService.rebuildIndex();
+        return ResponseEntity.ok(new SearchIndexRebuildResponse(indexed, System.currentTimeMillis() - start));
+    }
+}
@@ -0,0 +1,32 @@
+package com.community.ecommerce.apartmentservice.controller;
+
+import com.community.ecommerce.apartmentservice.cache.CacheInvalidationPublisher;
+import com.community.ecommerce.apartmentservice.cache.LocalCacheEvictor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Cache Administration", description = "APIs for managing local caches across instances")
+public class CacheAdminController {
+
+    private final LocalCacheEvictor localCacheEvictor;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Operation(summary = "Flush all caches",
+               description = "Flushes the local caches of this instance and tells every other instance to do the same.",
+               responses = {
+                   @ApiResponse(responseCode = "204", description = "Caches flushed")
+               })
+    @PostMapping("/api/v1/apartments/cache/flush")
+    public ResponseEntity<Void> flushCaches() {
+        localCacheEvictor.flushAll();
+        cacheInvalidationPublisher.publishFlushAll();
+        return ResponseEntity.noContent().build();
+    }
+}
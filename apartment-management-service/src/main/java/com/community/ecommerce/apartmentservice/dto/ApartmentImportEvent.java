@@ -0,0 +1,29 @@
+package com.community.ecommerce.apartmentservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One line of the NDJSON import report: a per-row error, a progress update after each committed chunk,
+// or the final summary.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApartmentImportEvent(
+        String type,
+        Long row,
+        String message,
+        Long processed,
+        Long imported,
+        Long failed,
+        Long tookMillis
+) {
+
+    public static ApartmentImportEvent error(long row, String message) {
+        return new ApartmentImportEvent("error", row, message, null, null, null, null);
+    }
+
+    public static ApartmentImportEvent progress(long processed, long imported, long failed) {
+        return new ApartmentImportEvent("progress", null, null, processed, imported, failed, null);
+    }
+
+    public static ApartmentImportEvent completed(long processed, long imported, long failed, long tookMillis) {
+        return new ApartmentImportEvent("completed", null, null, processed, imported, failed, tookMillis);
+    }
+}
@@ -0,0 +1,8 @@
+package com.community.ecommerce.apartmentservice.dto;
+
+import org.springframework.data.domain.Page;
+
+public record ApartmentLocationSearchResponse(
+        Page<ApartmentResponse> apartments,
+        LocationFacets facets
+) {}
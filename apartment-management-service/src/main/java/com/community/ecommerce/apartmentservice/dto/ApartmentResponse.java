@@ -1,11 +1,71 @@
 package com.community.ecommerce.apartmentservice.dto;
 
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
+// fields is the fields= selection a projected response was cut down to, and null for a full response.
+// A full response writes every property, nulls included; a projection writes only the selected ones.
+@JsonSerialize(using = ApartmentResponse.Serializer.class)
 public record ApartmentResponse(
         Long id,
         String apartmentName,
         ApartmentAddressDTO address,
         List<ApartmentContactDTO> contacts,
-        List<String> blockNames
-) {}
+        List<String> blockNames,
+        @JsonIgnore Set<ApartmentField> fields
+) {
+
+    public ApartmentResponse(Long id, String apartmentName, ApartmentAddressDTO address,
+                             List<ApartmentContactDTO> contacts, List<String> blockNames) {
+        this(id, apartmentName, address, contacts, blockNames, null);
+    }
+
+    public static ApartmentResponse projected(ApartmentResponse response, Set<ApartmentField> fields) {
+        if (fields.containsAll(ApartmentField.ALL)) {
+            return response;
+        }
+        return new ApartmentResponse(
+                fields.contains(ApartmentField.ID) ? response.id() : null,
+                fields.contains(ApartmentField.APARTMENT_NAME) ? response.apartmentName() : null,
+                fields.contains(ApartmentField.ADDRESS) ? response.address() : null,
+                fields.contains(ApartmentField.CONTACTS) ? response.contacts() : null,
+                fields.contains(ApartmentField.BLOCK_NAMES) ? response.blockNames() : null,
+                fields);
+    }
+
+    private Object valueOf(ApartmentField field) {
+        return switch (field) {
+            case ID -> id;
+            case APARTMENT_NAME -> apartmentName;
+            case ADDRESS -> address;
+            case CONTACTS -> contacts;
+            case BLOCK_NAMES -> blockNames;
+        };
+    }
+
+    static final class Serializer extends StdSerializer<ApartmentResponse> {
+
+        Serializer() {
+            super(ApartmentResponse.class);
+        }
+
+        @Override
+        public void serialize(ApartmentResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(response);
+            for (ApartmentField field : ApartmentField.values()) {
+                if (response.fields() == null || response.fields().contains(field)) {
+                    provider.defaultSerializeField(field.getFieldName(), response.valueOf(field), generator);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.community.ecommerce.apartmentservice.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record ApartmentScrollResponse(
+        List<ApartmentResponse> content,
+        String nextCursor
+) {}
@@ -0,0 +1,6 @@
+package com.community.ecommerce.apartmentservice.dto;
+
+public record ApartmentSuggestion(
+        Long id,
+        String apartmentName
+) {}
@@ -0,0 +1,6 @@
+package com.community.ecommerce.apartmentservice.dto;
+
+public record FacetCount(
+        String value,
+        long count
+) {}
@@ -0,0 +1,9 @@
+package com.community.ecommerce.apartmentservice.dto;
+
+import java.util.List;
+
+public record LocationFacets(
+        List<FacetCount> states,
+        List<FacetCount> cities,
+        List<FacetCount> zipcodes
+) {}
@@ -5,13 +5,27 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "apartments")
+@Table(name = "apartments", indexes = {
+        @Index(name = "idx_apartments_state_city_zipcode", columnList = "state, city, zipcode"),
+        @Index(name = "idx_apartments_zipcode", columnList = "zipcode"),
+        @Index(name = "idx_apartments_deleted_at", columnList = "deleted_at"),
+        // Serves the apartmentName keyset scroll
+        @Index(name = "idx_apartments_apartment_name_id", columnList = "apartment_name, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "apartments")
+// Soft-deleted apartments are invisible to every read until ApartmentPurgeJob removes them
+@SQLRestriction("deleted_at is null")
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,11 +42,13 @@ public class Apartment {
     @Embedded
     private ApartmentAddress address;
 
-    @OneToMany(mappedBy = "apartment", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "apartment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "apartments.contacts")
     @Builder.Default
     private List<ApartmentContacts> apartmentContacts = new java.util.ArrayList<>();
 
-    @OneToMany(mappedBy = "apartment", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "apartment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "apartments.blocks")
     @Builder.Default
     private List<ApartmentBlocks> apartmentBlocks = new java.util.ArrayList<>();
 
@@ -42,4 +58,16 @@ public class Apartment {
     @Column(name = "created_by")
     private String createdBy;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Bumped on every update, exposed as the ETag of the apartment
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
 }
@@ -5,12 +5,19 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "apartment_blocks")
+@Table(name = "apartment_blocks", indexes = {
+        // Serves the block existence check used by user registration
+        @Index(name = "idx_apartment_blocks_apartment_id_block_name", columnList = "apartment_id, block_name")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "apartment_blocks")
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,46 @@
+package com.community.ecommerce.apartmentservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Apartment event waiting to be published to Kafka. Written in the same transaction as the apartment change and
+// deleted by ApartmentOutboxRelay once the broker has acknowledged it. IDENTITY ids follow insert order, which the
+// relay relies on to publish an apartment's events in the order they were committed.
+@Entity
+@Table(name = "apartment_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApartmentOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long apartmentId;
+
+    // Simple class name of the common-events record held in the payload
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,23 @@
+package com.community.ecommerce.apartmentservice.event;
+
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+
+// Published by ApartmentService after every write. A null apartment means the apartment was deleted.
+public record ApartmentChangedEvent(Long apartmentId, ApartmentDomain apartment, boolean created) {
+
+    public static ApartmentChangedEvent created(ApartmentDomain apartment) {
+        return new ApartmentChangedEvent(apartment.getId(), apartment, true);
+    }
+
+    public static ApartmentChangedEvent updated(ApartmentDomain apartment) {
+        return new ApartmentChangedEvent(apartment.getId(), apartment, false);
+    }
+
+    public static ApartmentChangedEvent deleted(Long apartmentId) {
+        return new ApartmentChangedEvent(apartmentId, null, false);
+    }
+
+    public boolean isDeleted() {
+        return apartment == null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.community.ecommerce.apartmentservice.event;
+
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+
+import java.util.List;
+
+// Published from inside each import chunk's transaction (or each row's, when a failed chunk is retried row by row),
+// so listeners can apply the whole chunk in one go
+public record ApartmentsImportedEvent(List<ApartmentDomain> apartments) {
+}
@@ -0,0 +1,148 @@
+package com.community.ecommerce.apartmentservice.importer;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentAddressDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentContactDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentRegistrationRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Parses import input one row at a time, so the whole upload is never held in memory. A row that
+// fails to parse becomes a failed ApartmentImportRow and reading carries on with the next one.
+//
+// CSV columns: apartmentName, addressLine1, addressLine2, city, state, country, zipcode, blockNames, contacts.
+// blockNames are separated by '|'; contacts by '|', each as name;email;phone.
+public final class ApartmentImportReader {
+
+    private ApartmentImportReader() {
+    }
+
+    public static Iterator<ApartmentImportRow> open(Reader reader, ImportFormat format, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> ndjson(reader, objectMapper);
+            case CSV -> csv(reader);
+        };
+    }
+
+    static Iterator<ApartmentImportRow> ndjson(Reader reader, ObjectMapper objectMapper) {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        ObjectReader rowReader = objectMapper.readerFor(ApartmentRegistrationRequest.class);
+        return new RowIterator() {
+            private long lineNumber;
+
+            @Override
+            protected ApartmentImportRow readNext() throws IOException {
+                String line;
+                do {
+                    line = lines.readLine();
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                try {
+                    return ApartmentImportRow.parsed(lineNumber, rowReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    return ApartmentImportRow.failed(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    static Iterator<ApartmentImportRow> csv(Reader reader) {
+        CsvMapper csvMapper = new CsvMapper();
+        MappingIterator<Map<String, String>> records;
+        try {
+            records = csvMapper.readerForMapOf(String.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV header", e);
+        }
+        return new RowIterator() {
+            private long rowNumber;
+
+            @Override
+            protected ApartmentImportRow readNext() {
+                try {
+                    if (!records.hasNextValue()) {
+                        return null;
+                    }
+                    rowNumber++;
+                    return ApartmentImportRow.parsed(rowNumber, toRequest(records.nextValue()));
+                } catch (IOException e) {
+                    rowNumber++;
+                    return ApartmentImportRow.failed(rowNumber, "Malformed CSV row: " + e.getMessage());
+                }
+            }
+        };
+    }
+
+    private static ApartmentRegistrationRequest toRequest(Map<String, String> row) {
+        ApartmentAddressDTO address = new ApartmentAddressDTO(
+                row.get("addressLine1"), row.get("addressLine2"), row.get("city"),
+                row.get("state"), row.get("country"), row.get("zipcode"));
+        List<ApartmentContactDTO> contacts = split(row.get("contacts"), "\\|").stream()
+                .map(contact -> {
+                    String[] fields = Arrays.copyOf(contact.split(";", -1), 3);
+                    return new ApartmentContactDTO(trim(fields[0]), trim(fields[1]), trim(fields[2]));
+                })
+                .toList();
+        return new ApartmentRegistrationRequest(row.get("apartmentName"), address, contacts, split(row.get("blockNames"), "\\|"));
+    }
+
+    private static List<String> split(String value, String separator) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(separator)).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private abstract static class RowIterator implements Iterator<ApartmentImportRow> {
+
+        private ApartmentImportRow next;
+        private boolean done;
+
+        protected abstract ApartmentImportRow readNext() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = readNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read import input", e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public ApartmentImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ApartmentImportRow row = next;
+            next = null;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.community.ecommerce.apartmentservice.importer;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentRegistrationRequest;
+
+// One parsed input row. Rows that could not be parsed carry the parse error instead of a request.
+public record ApartmentImportRow(long rowNumber, ApartmentRegistrationRequest request, String error) {
+
+    public static ApartmentImportRow parsed(long rowNumber, ApartmentRegistrationRequest request) {
+        return new ApartmentImportRow(rowNumber, request, null);
+    }
+
+    public static ApartmentImportRow failed(long rowNumber, String error) {
+        return new ApartmentImportRow(rowNumber, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.community.ecommerce.apartmentservice.importer;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    public static ImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))) {
+            return CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
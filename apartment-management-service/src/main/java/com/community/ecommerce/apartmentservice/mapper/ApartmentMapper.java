@@ -11,12 +11,14 @@ import com.community.ecommerce.apartmentservice.entity.ApartmentContacts;
 import com.community.ecommerce.apartmentservice.model.ApartmentBlocksDomain;
 import com.community.ecommerce.apartmentservice.model.ApartmentContactsDomain;
 import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 
 import java.util.List;
+import java.util.Set;
 
 @Mapper
 public interface ApartmentMapper {
@@ -24,6 +26,8 @@ public interface ApartmentMapper {
     // --- DTO to Domain ---
     @Mapping(source = "apartmentPointOfContacts", target = "apartmentContactsDomainList")
     @Mapping(source = "blockNames", target = "apartmentBlocksDomainList", qualifiedByName = "stringToApartmentBlocksDomain")
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     ApartmentDomain toDomain(ApartmentRegistrationRequest request);
 
     // --- Entity to Domain ---
@@ -32,11 +36,24 @@ public interface ApartmentMapper {
     @Mapping(source = "apartmentBlocks", target = "apartmentBlocksDomainList")
     ApartmentDomain toDomain(Apartment apartment);
 
+    // Leaves both collections null without touching the lazy associations, for sparse reads
+    @Mapping(source = "address", target = "apartmentAddress")
+    @Mapping(target = "apartmentContactsDomainList", ignore = true)
+    @Mapping(target = "apartmentBlocksDomainList", ignore = true)
+    ApartmentDomain toDomainWithoutCollections(Apartment apartment);
+
+    List<ApartmentBlocksDomain> blocksToDomainList(List<ApartmentBlocks> blocks);
+
+    List<ApartmentContactsDomain> contactsToDomainList(List<ApartmentContacts> contacts);
+
     // --- Domain to Entity ---
     @Mapping(source = "apartmentAddress", target = "address")
     @Mapping(source = "apartmentContactsDomainList", target = "apartmentContacts")
     @Mapping(source = "apartmentBlocksDomainList", target = "apartmentBlocks")
     @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     Apartment toEntity(ApartmentDomain domain);
 
     // --- Domain to Response ---
@@ -47,12 +64,36 @@ public interface ApartmentMapper {
 
     List<ApartmentResponse> toResponseList(List<ApartmentDomain> domainList);
 
+    // --- Entity to Response, in one pass for read paths that do not need the domain model ---
+    @Mapping(source = "apartmentContacts", target = "contacts")
+    @Mapping(source = "apartmentBlocks", target = "blockNames", qualifiedByName = "apartmentBlocksToString")
+    ApartmentResponse toResponse(Apartment apartment);
+
+    // Maps only the requested fields, so unrequested collections are never read
+    default ApartmentResponse toResponse(Apartment apartment, Set<ApartmentField> fields) {
+        if (fields.containsAll(ApartmentField.ALL)) {
+            return toResponse(apartment);
+        }
+        return new ApartmentResponse(
+                fields.contains(ApartmentField.ID) ? apartment.getId() : null,
+                fields.contains(ApartmentField.APARTMENT_NAME) ? apartment.getApartmentName() : null,
+                fields.contains(ApartmentField.ADDRESS) ? toAddressDTO(apartment.getAddress()) : null,
+                fields.contains(ApartmentField.CONTACTS) ? contactsToDTOList(apartment.getApartmentContacts()) : null,
+                fields.contains(ApartmentField.BLOCK_NAMES) ? apartmentBlocksToString(apartment.getApartmentBlocks()) : null,
+                fields);
+    }
+
     // --- Update existing Entity from Domain ---
+    // Child collections are merged by ApartmentServiceImpl so unchanged rows are left alone
     @Mapping(source = "apartmentAddress", target = "address")
-    @Mapping(source = "apartmentContactsDomainList", target = "apartmentContacts")
-    @Mapping(source = "apartmentBlocksDomainList", target = "apartmentBlocks")
+    @Mapping(target = "apartmentContacts", ignore = true)
+    @Mapping(target = "apartmentBlocks", ignore = true)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     void updateEntity(ApartmentDomain domain, @MappingTarget Apartment apartment);
 
     // --- Helper methods for nested objects ---
@@ -85,6 +126,13 @@ public interface ApartmentMapper {
     @Mapping(source = "contactPhoneNumber", target = "phoneNumber")
     ApartmentContactDTO toContactDTO(ApartmentContactsDomain domain);
 
+    @Mapping(source = "contactName", target = "name")
+    @Mapping(source = "contactEmail", target = "emailAddress")
+    @Mapping(source = "contactPhoneNumber", target = "phoneNumber")
+    ApartmentContactDTO toContactDTO(ApartmentContacts contact);
+
+    List<ApartmentContactDTO> contactsToDTOList(List<ApartmentContacts> contacts);
+
     List<ApartmentContacts> toContactsEntityList(List<ApartmentContactsDomain> domains);
 
     @Mapping(target = "id", ignore = true)
@@ -108,6 +156,14 @@ public interface ApartmentMapper {
                 .toList();
     }
 
+    @Named("apartmentBlocksToString")
+    default List<String> apartmentBlocksToString(List<ApartmentBlocks> blocks) {
+        if (blocks == null) return java.util.Collections.emptyList();
+        return blocks.stream()
+                .map(ApartmentBlocks::getBlockName)
+                .toList();
+    }
+
     @Named("apartmentBlocksDomainToString")
     default List<String> apartmentBlocksDomainToString(List<ApartmentBlocksDomain> blocks) {
         if (blocks == null) return java.util.Collections.emptyList();
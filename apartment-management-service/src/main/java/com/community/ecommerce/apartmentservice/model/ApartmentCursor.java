@@ -0,0 +1,38 @@
+package com.community.ecommerce.apartmentservice.model;
+
+import com.community.ecommerce.apartmentservice.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// The last apartment of a scroll page, handed to clients as an opaque token. The next page starts strictly
+// after this position, so rows inserted or deleted elsewhere in the order never shift what follows.
+public record ApartmentCursor(ApartmentSortKey sortKey, long id, String apartmentName) {
+
+    public String encode() {
+        // The name goes last so it may contain the separator
+        String raw = sortKey.getParamName() + ":" + id + (sortKey == ApartmentSortKey.APARTMENT_NAME ? ":" + apartmentName : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ApartmentCursor decode(String token, ApartmentSortKey expectedSortKey) {
+        String[] parts;
+        ApartmentSortKey sortKey;
+        long id;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            sortKey = ApartmentSortKey.fromParamName(parts[0]);
+            id = Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | InvalidRequestException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        if (sortKey != expectedSortKey) {
+            throw new InvalidRequestException("Cursor was issued for sort=" + sortKey.getParamName()
+                    + ", not sort=" + expectedSortKey.getParamName());
+        }
+        if (sortKey == ApartmentSortKey.APARTMENT_NAME && parts.length < 3) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return new ApartmentCursor(sortKey, id, sortKey == ApartmentSortKey.APARTMENT_NAME ? parts[2] : null);
+    }
+}
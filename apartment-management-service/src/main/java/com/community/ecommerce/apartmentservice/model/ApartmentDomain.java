@@ -16,4 +16,6 @@ public class ApartmentDomain {
     private List<ApartmentBlocksDomain> apartmentBlocksDomainList;
     private List<ApartmentContactsDomain> apartmentContactsDomainList;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,54 @@
+package com.community.ecommerce.apartmentservice.model;
+
+import com.community.ecommerce.apartmentservice.exception.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// The ApartmentResponse properties a caller can ask for with fields=. Blocks and contacts are only loaded
+// from the database when their field is requested.
+public enum ApartmentField {
+    ID("id"),
+    APARTMENT_NAME("apartmentName"),
+    ADDRESS("address"),
+    CONTACTS("contacts"),
+    BLOCK_NAMES("blockNames");
+
+    public static final Set<ApartmentField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ApartmentField.class));
+
+    private final String fieldName;
+
+    ApartmentField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    // Parses a comma-separated list such as "id,blockNames". No value means every field; id is always included.
+    public static Set<ApartmentField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<ApartmentField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(fromFieldName(trimmed));
+            }
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+
+    private static ApartmentField fromFieldName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException("Unknown field '" + name + "', expected any of "
+                        + Arrays.stream(values()).map(ApartmentField::getFieldName).collect(Collectors.joining(", "))));
+    }
+}
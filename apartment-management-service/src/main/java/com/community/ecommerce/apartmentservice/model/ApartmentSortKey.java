@@ -0,0 +1,45 @@
+package com.community.ecommerce.apartmentservice.model;
+
+import com.community.ecommerce.apartmentservice.exception.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Orders a cursor scroll. Every key ends with id, so the order is total and a cursor names exactly one position.
+public enum ApartmentSortKey {
+    ID("id", Sort.by("id")),
+    APARTMENT_NAME("apartmentName", Sort.by("apartmentName", "id"));
+
+    private final String paramName;
+    private final Sort sort;
+
+    ApartmentSortKey(String paramName, Sort sort) {
+        this.paramName = paramName;
+        this.sort = sort;
+    }
+
+    public String getParamName() {
+        return paramName;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    // No value scrolls by id
+    public static ApartmentSortKey parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return ID;
+        }
+        return fromParamName(sort.trim());
+    }
+
+    static ApartmentSortKey fromParamName(String name) {
+        return Arrays.stream(values())
+                .filter(key -> key.paramName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException("Unknown sort '" + name + "', expected one of "
+                        + Arrays.stream(values()).map(ApartmentSortKey::getParamName).collect(Collectors.joining(", "))));
+    }
+}
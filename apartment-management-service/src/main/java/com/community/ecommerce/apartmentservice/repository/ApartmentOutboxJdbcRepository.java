@@ -0,0 +1,31 @@
+package com.community.ecommerce.apartmentservice.repository;
+
+import com.community.ecommerce.apartmentservice.entity.ApartmentOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ApartmentOutboxJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Hibernate cannot batch inserts of IDENTITY entities, so bulk writes bypass it. The database still assigns
+    // the ids, in insert order, as the relay expects. Joins the caller's transaction.
+    public void insertAll(List<ApartmentOutboxEvent> events) {
+        jdbcTemplate.batchUpdate("INSERT INTO apartment_outbox" +
+                        " (apartment_id, event_type, payload, created_at, attempts, next_attempt_at) VALUES (?, ?, ?, ?, ?, ?)",
+                events, events.size(), (ps, event) -> {
+                    ps.setLong(1, event.getApartmentId());
+                    ps.setString(2, event.getEventType());
+                    ps.setString(3, event.getPayload());
+                    ps.setTimestamp(4, Timestamp.valueOf(event.getCreatedAt()));
+                    ps.setInt(5, event.getAttempts());
+                    ps.setTimestamp(6, Timestamp.valueOf(event.getNextAttemptAt()));
+                });
+    }
+}
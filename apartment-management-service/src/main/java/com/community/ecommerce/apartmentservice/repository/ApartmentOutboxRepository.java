@@ -0,0 +1,21 @@
+package com.community.ecommerce.apartmentservice.repository;
+
+import com.community.ecommerce.apartmentservice.entity.ApartmentOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApartmentOutboxRepository extends JpaRepository<ApartmentOutboxEvent, Long> {
+
+    // Oldest events first, locked so relays on other instances wait rather than publish the same events
+    // or overtake them. Not SKIP LOCKED: skipping would let another relay publish an apartment's later event first.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from ApartmentOutboxEvent e order by e.id")
+    List<ApartmentOutboxEvent> lockOldest(Limit limit);
+}
@@ -0,0 +1,28 @@
+package com.community.ecommerce.apartmentservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+public class ApartmentPurgeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Physically removes up to "limit" soft-deleted apartments together with their blocks and contacts in one
+    // statement (and so one transaction). Foreign keys are checked at the end of the statement, so the child
+    // deletes and the parent delete can run side by side. SKIP LOCKED lets several instances purge concurrently.
+    public int purgeBatch(LocalDateTime deletedBefore, int limit) {
+        return jdbcTemplate.update("WITH doomed AS (" +
+                        " SELECT id FROM apartments WHERE deleted_at IS NOT NULL AND deleted_at < ?" +
+                        " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)," +
+                        " purged_blocks AS (DELETE FROM apartment_blocks WHERE apartment_id IN (SELECT id FROM doomed))," +
+                        " purged_contacts AS (DELETE FROM apartment_contacts WHERE apartment_id IN (SELECT id FROM doomed))" +
+                        " DELETE FROM apartments WHERE id IN (SELECT id FROM doomed)",
+                Timestamp.valueOf(deletedBefore), limit);
+    }
+}
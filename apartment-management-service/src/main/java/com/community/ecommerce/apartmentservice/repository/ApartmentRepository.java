@@ -4,11 +4,47 @@ import com.community.ecommerce.apartmentservice.entity.Apartment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ApartmentRepository extends JpaRepository<Apartment, Long> {
-    Page<Apartment> findByApartmentNameContainingIgnoreCase(String name, Pageable pageable);
+public interface ApartmentRepository extends JpaRepository<Apartment, Long>, JpaSpecificationExecutor<Apartment> {
+
+    // Listing paths page over ids only and then load both collections for the whole page,
+    // one query per collection, so the statement count does not grow with the page size.
+    @Query("select a.id from Apartment a")
+    Page<Long> findPageOfIds(Pageable pageable);
+
+    // Escapes % and _ in the name, like the derived ContainingIgnoreCase query it replaces
+    @Query(value = "select a.id from Apartment a where lower(a.apartmentName) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}",
+            countQuery = "select count(a) from Apartment a where lower(a.apartmentName) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}")
+    Page<Long> findPageOfIdsByApartmentNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+
+    // Blocks and contacts are both bags, so they are fetched in separate queries rather than
+    // joined together, which would fail with MultipleBagFetchException or multiply rows.
+    @Query("select distinct a from Apartment a left join fetch a.apartmentBlocks where a.id in :ids")
+    List<Apartment> findAllWithBlocksByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct a from Apartment a left join fetch a.apartmentContacts where a.id in :ids")
+    List<Apartment> findAllWithContactsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Empty when the apartment does not exist (or is soft-deleted), otherwise whether it has the block.
+    // Both lookups are index seeks and no entity is loaded.
+    @Query("select case when exists (select 1 from ApartmentBlocks b where b.apartment.id = a.id and b.blockName = :blockName) "
+            + "then true else false end from Apartment a where a.id = :id")
+    Optional<Boolean> findBlockExistence(@Param("id") Long id, @Param("blockName") String blockName);
+
+    // Marks the apartment deleted without loading it or its children; ApartmentPurgeJob removes the rows later.
+    // Being a bulk update, it also evicts the apartment entries from the second-level cache.
+    @Modifying
+    @Query("update Apartment a set a.deletedAt = :deletedAt, a.version = a.version + 1 where a.id = :id and a.deletedAt is null")
+    int softDeleteById(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
 }
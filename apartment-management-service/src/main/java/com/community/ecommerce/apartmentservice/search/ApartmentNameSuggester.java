@@ -0,0 +1,205 @@
+package com.community.ecommerce.apartmentservice.search;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentSuggestion;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup;
+import org.apache.lucene.search.suggest.fst.WFSTCompletionLookup;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Prefix autocomplete over normalized apartment names, backed by a weighted FST held in memory.
+// The FST is immutable, so changes are applied by rebuilding it from the current names and swapping it in;
+// lookups never block and always see a complete snapshot. Single puts and removes only mark it dirty and are
+// folded into the next scheduled rebuild; bulk loads rebuild straight away.
+@Component
+public class ApartmentNameSuggester {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public record Entry(Long apartmentId, String apartmentName, long weight) {}
+
+    private record Snapshot(Lookup lookup, Map<String, List<Entry>> entriesByKey) {}
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Single changes share the read side and run concurrently; replaceAll takes the write side so a change can
+    // never land between its clear and refill and be wiped
+    private final ReadWriteLock entriesLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of());
+
+    public List<ApartmentSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        Snapshot current = snapshot;
+        if (key.isEmpty() || current.lookup() == null || limit <= 0) {
+            return List.of();
+        }
+        try {
+            List<ApartmentSuggestion> suggestions = new ArrayList<>(limit);
+            for (Lookup.LookupResult result : current.lookup().lookup(key, false, limit)) {
+                for (Entry entry : current.entriesByKey().getOrDefault(result.key.toString(), List.of())) {
+                    if (suggestions.size() == limit) {
+                        return suggestions;
+                    }
+                    suggestions.add(new ApartmentSuggestion(entry.apartmentId(), entry.apartmentName()));
+                }
+            }
+            return suggestions;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Apartment name lookup failed", e);
+        }
+    }
+
+    public void put(Entry entry) {
+        entriesLock.readLock().lock();
+        try {
+            entries.put(entry.apartmentId(), entry);
+            dirty.set(true);
+        } finally {
+            entriesLock.readLock().unlock();
+        }
+    }
+
+    public void putAll(Collection<Entry> newEntries) {
+        entriesLock.readLock().lock();
+        try {
+            newEntries.forEach(entry -> entries.put(entry.apartmentId(), entry));
+        } finally {
+            entriesLock.readLock().unlock();
+        }
+        rebuild();
+    }
+
+    public void remove(Long apartmentId) {
+        entriesLock.readLock().lock();
+        try {
+            if (entries.remove(apartmentId) != null) {
+                dirty.set(true);
+            }
+        } finally {
+            entriesLock.readLock().unlock();
+        }
+    }
+
+    // Bounds how long a single apartment change takes to show up in suggestions
+    @Scheduled(fixedDelayString = "${app.search.suggester-rebuild-interval-ms:1000}")
+    public void rebuildIfDirty() {
+        if (dirty.get()) {
+            rebuild();
+        }
+    }
+
+    public void replaceAll(Collection<Entry> newEntries) {
+        entriesLock.writeLock().lock();
+        try {
+            entries.clear();
+            newEntries.forEach(entry -> entries.put(entry.apartmentId(), entry));
+        } finally {
+            entriesLock.writeLock().unlock();
+        }
+        rebuild();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private synchronized void rebuild() {
+        // Cleared before reading the entries, so a change made while building marks the next rebuild
+        dirty.set(false);
+        // Apartments sharing a normalized name share one FST key, ranked by the heaviest of them
+        Map<String, List<Entry>> entriesByKey = new TreeMap<>();
+        for (Entry entry : entries.values()) {
+            String key = normalize(entry.apartmentName());
+            if (!key.isEmpty()) {
+                entriesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+            }
+        }
+        if (entriesByKey.isEmpty()) {
+            snapshot = new Snapshot(null, Map.of());
+            return;
+        }
+        entriesByKey.values().forEach(group -> group.sort(Comparator.comparingLong(Entry::weight).reversed()));
+
+        WFSTCompletionLookup lookup = new WFSTCompletionLookup(new ByteBuffersDirectory(), "apartment-names", true);
+        try {
+            lookup.build(new KeyWeightIterator(entriesByKey));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build apartment name suggester", e);
+        }
+        snapshot = new Snapshot(lookup, entriesByKey);
+    }
+
+    private static final class KeyWeightIterator implements InputIterator {
+
+        private final Iterator<Map.Entry<String, List<Entry>>> iterator;
+        private long weight;
+
+        private KeyWeightIterator(Map<String, List<Entry>> entriesByKey) {
+            this.iterator = entriesByKey.entrySet().iterator();
+        }
+
+        @Override
+        public BytesRef next() {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Map.Entry<String, List<Entry>> next = iterator.next();
+            weight = next.getValue().get(0).weight();
+            return new BytesRef(next.getKey());
+        }
+
+        @Override
+        public long weight() {
+            return weight;
+        }
+
+        @Override
+        public BytesRef payload() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return false;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+}
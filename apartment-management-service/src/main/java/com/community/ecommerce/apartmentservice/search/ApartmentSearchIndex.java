@@ -0,0 +1,280 @@
+package com.community.ecommerce.apartmentservice.search;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentAddressDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lucene index over apartment name, address, city, state, zipcode and block names. Each document
+// stores the ApartmentResponse JSON so search results are served without touching the database.
+// Incremental writes only go to the IndexWriter: searches pick them up on the next near-real-time refresh,
+// and they are made durable by the periodic commit, at shutdown, and at the end of every rebuild. A rebuild
+// indexes into a separate in-memory directory and only swaps it in once the scan has finished.
+@Component
+public class ApartmentSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApartmentSearchIndex.class);
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String ADDRESS = "address";
+    static final String CITY = "city";
+    static final String STATE = "state";
+    static final String ZIPCODE = "zipcode";
+    static final String BLOCKS = "blocks";
+    static final String SOURCE = "source";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            NAME, 3.0f,
+            CITY, 2.0f,
+            ZIPCODE, 2.0f,
+            BLOCKS, 1.5f,
+            STATE, 1.0f,
+            ADDRESS, 1.0f);
+
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final ObjectMapper objectMapper;
+    // Serialises incremental writes with the rebuild swap. Refreshes and commits take it too, so a half-swapped
+    // index is never searched or committed.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Incremental writes made while a rebuild scans, replayed over the rebuilt index; null when no rebuild
+    // is running. Guarded by writeLock.
+    private List<IndexOperation> changesDuringRebuild;
+
+    @Autowired
+    public ApartmentSearchIndex(@Value("${app.search.index-path:}") String indexPath,
+                                ObjectMapper objectMapper) throws IOException {
+        this(indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath)), objectMapper);
+    }
+
+    ApartmentSearchIndex(Directory directory, ObjectMapper objectMapper) throws IOException {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    public void index(ApartmentResponse apartment) {
+        write(() -> {
+            Document document = toDocument(apartment);
+            apply(() -> indexWriter.updateDocument(idTerm(apartment.id()), document));
+        });
+    }
+
+    public void indexAll(Collection<ApartmentResponse> apartments) {
+        write(() -> {
+            for (ApartmentResponse apartment : apartments) {
+                Document document = toDocument(apartment);
+                apply(() -> indexWriter.updateDocument(idTerm(apartment.id()), document));
+            }
+        });
+    }
+
+    public void delete(Long apartmentId) {
+        write(() -> apply(() -> indexWriter.deleteDocuments(idTerm(apartmentId))));
+    }
+
+    // Replaces the whole index. The scan runs without the write lock, so incremental updates carry on meanwhile
+    // and are replayed over the rebuilt index; if the scan fails, the live index is left as it was.
+    public int rebuild(Iterator<ApartmentResponse> apartments) {
+        rebuildLock.lock();
+        try (Directory staging = new ByteBuffersDirectory()) {
+            write(() -> changesDuringRebuild = new ArrayList<>());
+            int indexed = 0;
+            try (IndexWriter stagingWriter = new IndexWriter(staging, new IndexWriterConfig(analyzer))) {
+                while (apartments.hasNext()) {
+                    stagingWriter.addDocument(toDocument(apartments.next()));
+                    indexed++;
+                }
+            }
+            write(() -> {
+                indexWriter.deleteAll();
+                indexWriter.addIndexes(staging);
+                for (IndexOperation change : changesDuringRebuild) {
+                    change.run();
+                }
+                indexWriter.commit();
+                searcherManager.maybeRefreshBlocking();
+            });
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Apartment index rebuild failed", e);
+        } finally {
+            write(() -> changesDuringRebuild = null);
+            rebuildLock.unlock();
+        }
+    }
+
+    // Bounds how long a committed apartment write can take to show up in search
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        // A rebuild refreshes when its swap is done, so there is nothing to do while the swap holds the lock
+        if (!writeLock.tryLock()) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Apartment index refresh failed", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Bounds how many index updates a crash can lose when the index lives on disk
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:60000}")
+    public void commit() {
+        write(() -> {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        });
+    }
+
+    public boolean isEmpty() {
+        return indexWriter.getDocStats().numDocs == 0;
+    }
+
+    public Page<ApartmentResponse> search(String text, Pageable pageable) {
+        Query query = parse(text);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int totalHits = searcher.count(query);
+                int end = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), totalHits);
+                if (pageable.getOffset() >= end) {
+                    return new PageImpl<>(List.of(), pageable, totalHits);
+                }
+                TopDocs topDocs = searcher.search(query, end);
+                List<ApartmentResponse> content = new ArrayList<>(end - (int) pageable.getOffset());
+                for (int i = (int) pageable.getOffset(); i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    Document document = searcher.storedFields().document(scoreDoc.doc, Set.of(SOURCE));
+                    content.add(objectMapper.readValue(document.getBinaryValue(SOURCE).bytes, ApartmentResponse.class));
+                }
+                return new PageImpl<>(content, pageable, totalHits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Apartment search failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    private Query parse(String text) {
+        if (text == null || text.isBlank()) {
+            return new MatchNoDocsQuery();
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        // Every term has to match, in any of the fields
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(text);
+    }
+
+    private void write(IndexOperation operation) {
+        writeLock.lock();
+        try {
+            operation.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Apartment index update failed", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Called under writeLock
+    private void apply(IndexOperation change) throws IOException {
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private Document toDocument(ApartmentResponse apartment) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(apartment.id()), Field.Store.NO));
+        addText(document, NAME, apartment.apartmentName());
+        ApartmentAddressDTO address = apartment.address();
+        if (address != null) {
+            addText(document, ADDRESS, address.addressLine1());
+            addText(document, ADDRESS, address.addressLine2());
+            addText(document, CITY, address.cityName());
+            addText(document, STATE, address.stateName());
+            addText(document, ZIPCODE, address.zipCode());
+        }
+        if (apartment.blockNames() != null) {
+            apartment.blockNames().forEach(blockName -> addText(document, BLOCKS, blockName));
+        }
+        document.add(new StoredField(SOURCE, objectMapper.writeValueAsBytes(apartment)));
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static Term idTerm(Long apartmentId) {
+        return new Term(ID, String.valueOf(apartmentId));
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run() throws IOException;
+    }
+}
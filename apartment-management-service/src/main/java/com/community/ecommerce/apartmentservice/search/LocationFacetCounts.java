@@ -0,0 +1,150 @@
+package com.community.ecommerce.apartmentservice.search;
+
+import com.community.ecommerce.apartmentservice.dto.FacetCount;
+import com.community.ecommerce.apartmentservice.dto.LocationFacets;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Apartment counts per state, city and zipcode, kept as a state -> city -> zipcode tree and
+// updated on every apartment write so the facet sidebar never needs a GROUP BY over apartments.
+@Component
+public class LocationFacetCounts {
+
+    public record Location(String state, String city, String zipcode) {
+        public Location {
+            state = Objects.toString(state, "");
+            city = Objects.toString(city, "");
+            zipcode = Objects.toString(zipcode, "");
+        }
+    }
+
+    private final Map<Long, Location> locations = new HashMap<>();
+    private final Map<String, Map<String, Map<String, Long>>> counts = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long apartmentId, Location location) {
+        lock.writeLock().lock();
+        try {
+            Location previous = locations.put(apartmentId, location);
+            if (previous != null) {
+                decrement(previous);
+            }
+            increment(location);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long apartmentId) {
+        lock.writeLock().lock();
+        try {
+            Location previous = locations.remove(apartmentId);
+            if (previous != null) {
+                decrement(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Map<Long, Location> newLocations) {
+        lock.writeLock().lock();
+        try {
+            locations.clear();
+            counts.clear();
+            newLocations.forEach((apartmentId, location) -> {
+                locations.put(apartmentId, location);
+                increment(location);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // States are always listed in full; cities narrow to the selected state and zipcodes to the
+    // selected state and city, so each level of the sidebar drills into the one above it.
+    public LocationFacets facets(String state, String city) {
+        lock.readLock().lock();
+        try {
+            List<Map<String, Map<String, Long>>> statesInScope = isBlank(state)
+                    ? List.copyOf(counts.values())
+                    : Stream.ofNullable(counts.get(state)).toList();
+            List<Map<String, Long>> citiesInScope = statesInScope.stream()
+                    .flatMap(cities -> isBlank(city)
+                            ? cities.values().stream()
+                            : Stream.ofNullable(cities.get(city)))
+                    .toList();
+
+            Map<String, Long> stateCounts = new TreeMap<>();
+            counts.forEach((stateName, cities) -> stateCounts.put(stateName, total(cities)));
+            Map<String, Long> cityCounts = new TreeMap<>();
+            statesInScope.forEach(cities -> cities.forEach((cityName, zipcodes) ->
+                    cityCounts.merge(cityName, sum(zipcodes), Long::sum)));
+            Map<String, Long> zipcodeCounts = new TreeMap<>();
+            citiesInScope.forEach(zipcodes -> zipcodes.forEach((zipcode, count) -> zipcodeCounts.merge(zipcode, count, Long::sum)));
+
+            return new LocationFacets(toFacets(stateCounts), toFacets(cityCounts), toFacets(zipcodeCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return locations.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void increment(Location location) {
+        counts.computeIfAbsent(location.state(), s -> new TreeMap<>())
+                .computeIfAbsent(location.city(), c -> new TreeMap<>())
+                .merge(location.zipcode(), 1L, Long::sum);
+    }
+
+    private void decrement(Location location) {
+        Map<String, Map<String, Long>> cities = counts.get(location.state());
+        Map<String, Long> zipcodes = cities.get(location.city());
+        // Drop empty branches so removed locations stop showing up as zero-count facets
+        if (zipcodes.merge(location.zipcode(), -1L, Long::sum) == 0) {
+            zipcodes.remove(location.zipcode());
+            if (zipcodes.isEmpty()) {
+                cities.remove(location.city());
+                if (cities.isEmpty()) {
+                    counts.remove(location.state());
+                }
+            }
+        }
+    }
+
+    private static long total(Map<String, Map<String, Long>> cities) {
+        return cities.values().stream().mapToLong(LocationFacetCounts::sum).sum();
+    }
+
+    private static long sum(Map<String, Long> zipcodes) {
+        return zipcodes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Counts are sorted by size, largest first, with ties broken by name
+    private static List<FacetCount> toFacets(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .filter(entry -> !entry.getKey().isEmpty())
+                .map(entry -> new FacetCount(entry.getKey(), entry.getValue()))
+                .sorted((a, b) -> Long.compare(b.count(), a.count()))
+                .toList();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,137 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.entity.ApartmentAddress;
+import com.community.ecommerce.apartmentservice.entity.ApartmentOutboxEvent;
+import com.community.ecommerce.apartmentservice.event.ApartmentChangedEvent;
+import com.community.ecommerce.apartmentservice.event.ApartmentsImportedEvent;
+import com.community.ecommerce.apartmentservice.model.ApartmentBlocksDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentContactsDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxJdbcRepository;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxRepository;
+import com.community.ecommerce.common.events.ApartmentCreatedEvent;
+import com.community.ecommerce.common.events.ApartmentDeletedEvent;
+import com.community.ecommerce.common.events.ApartmentUpdatedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+// Turns apartment writes into outbox rows inside the writing transaction, so an event is stored if and only if
+// its change commits. ApartmentOutboxRelay publishes the rows to Kafka and retries them until the broker acks.
+@Service
+public class ApartmentEventProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApartmentEventProducer.class);
+
+    private final ApartmentOutboxRepository apartmentOutboxRepository;
+    private final ApartmentOutboxJdbcRepository apartmentOutboxJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public ApartmentEventProducer(ApartmentOutboxRepository apartmentOutboxRepository,
+                                  ApartmentOutboxJdbcRepository apartmentOutboxJdbcRepository,
+                                  ObjectMapper objectMapper) {
+        this(apartmentOutboxRepository, apartmentOutboxJdbcRepository, objectMapper, Clock.systemUTC());
+    }
+
+    ApartmentEventProducer(ApartmentOutboxRepository apartmentOutboxRepository,
+                           ApartmentOutboxJdbcRepository apartmentOutboxJdbcRepository,
+                           ObjectMapper objectMapper, Clock clock) {
+        this.apartmentOutboxRepository = apartmentOutboxRepository;
+        this.apartmentOutboxJdbcRepository = apartmentOutboxJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    // MANDATORY: an outbox row written outside the apartment's transaction would defeat the point
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onApartmentChanged(ApartmentChangedEvent event) {
+        Instant now = clock.instant();
+        if (event.isDeleted()) {
+            send(event.apartmentId(), new ApartmentDeletedEvent(event.apartmentId(), now));
+        } else if (event.created()) {
+            send(event.apartmentId(), toCreatedEvent(event.apartment(), now));
+        } else {
+            send(event.apartmentId(), toUpdatedEvent(event.apartment(), now));
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onApartmentsImported(ApartmentsImportedEvent event) {
+        Instant now = clock.instant();
+        apartmentOutboxJdbcRepository.insertAll(event.apartments().stream()
+                .map(apartment -> toOutboxEvent(apartment.getId(), toCreatedEvent(apartment, now), now))
+                .toList());
+    }
+
+    private void send(Long apartmentId, Object event) {
+        logger.debug("Queueing {}: {}", event.getClass().getSimpleName(), event);
+        apartmentOutboxRepository.save(toOutboxEvent(apartmentId, event, clock.instant()));
+    }
+
+    private ApartmentOutboxEvent toOutboxEvent(Long apartmentId, Object event, Instant now) {
+        LocalDateTime createdAt = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+        try {
+            return ApartmentOutboxEvent.builder()
+                    .apartmentId(apartmentId)
+                    .eventType(event.getClass().getSimpleName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .createdAt(createdAt)
+                    .nextAttemptAt(createdAt)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static ApartmentCreatedEvent toCreatedEvent(ApartmentDomain apartment, Instant occurredAt) {
+        ApartmentAddress address = apartment.getApartmentAddress();
+        return new ApartmentCreatedEvent(apartment.getId(), apartment.getApartmentName(),
+                address == null ? null : address.getCity(),
+                address == null ? null : address.getState(),
+                address == null ? null : address.getZipcode(),
+                blockNames(apartment), contactEmails(apartment), apartment.getVersion(), occurredAt);
+    }
+
+    private static ApartmentUpdatedEvent toUpdatedEvent(ApartmentDomain apartment, Instant occurredAt) {
+        ApartmentAddress address = apartment.getApartmentAddress();
+        return new ApartmentUpdatedEvent(apartment.getId(), apartment.getApartmentName(),
+                address == null ? null : address.getCity(),
+                address == null ? null : address.getState(),
+                address == null ? null : address.getZipcode(),
+                blockNames(apartment), contactEmails(apartment), apartment.getVersion(), occurredAt);
+    }
+
+    private static List<String> blockNames(ApartmentDomain apartment) {
+        if (apartment.getApartmentBlocksDomainList() == null) {
+            return List.of();
+        }
+        return apartment.getApartmentBlocksDomainList().stream().map(ApartmentBlocksDomain::getBlockName).toList();
+    }
+
+    private static List<String> contactEmails(ApartmentDomain apartment) {
+        if (apartment.getApartmentContactsDomainList() == null) {
+            return List.of();
+        }
+        return apartment.getApartmentContactsDomainList().stream()
+                .map(ApartmentContactsDomain::getContactEmail)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
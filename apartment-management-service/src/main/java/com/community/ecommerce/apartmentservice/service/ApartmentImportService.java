@@ -0,0 +1,11 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentImportEvent;
+import com.community.ecommerce.apartmentservice.importer.ImportFormat;
+
+import java.io.Reader;
+import java.util.function.Consumer;
+
+public interface ApartmentImportService {
+    ApartmentImportEvent importApartments(Reader input, ImportFormat format, Consumer<ApartmentImportEvent> events);
+}
@@ -0,0 +1,167 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.entity.ApartmentOutboxEvent;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxRepository;
+import com.community.ecommerce.common.events.ApartmentCreatedEvent;
+import com.community.ecommerce.common.events.ApartmentDeletedEvent;
+import com.community.ecommerce.common.events.ApartmentUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Publishes outbox rows to Kafka, oldest first, and deletes each one only after the broker has acknowledged it.
+// All event types share one topic keyed by apartment id. Only one event per apartment is in flight at a time and
+// a failed event holds back the later events of its apartment, so consumers see the changes to an apartment in
+// the order they were committed. Delivery is at-least-once: a crash between the ack and the delete republishes
+// the event.
+@Service
+public class ApartmentOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApartmentOutboxRelay.class);
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            ApartmentCreatedEvent.class.getSimpleName(), ApartmentCreatedEvent.class,
+            ApartmentUpdatedEvent.class.getSimpleName(), ApartmentUpdatedEvent.class,
+            ApartmentDeletedEvent.class.getSimpleName(), ApartmentDeletedEvent.class);
+
+    private final ApartmentOutboxRepository apartmentOutboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionOperations transactionOperations;
+    private final Clock clock;
+
+    private final String topic;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    @Autowired
+    public ApartmentOutboxRelay(ApartmentOutboxRepository apartmentOutboxRepository,
+                                KafkaTemplate<String, Object> kafkaTemplate,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.apartment.events.topic:apartment-events}") String topic,
+                                @Value("${app.apartment.events.relay.batch-size:100}") int batchSize,
+                                @Value("${app.apartment.events.relay.send-timeout:10s}") Duration sendTimeout,
+                                @Value("${app.apartment.events.relay.initial-backoff:1s}") Duration initialBackoff,
+                                @Value("${app.apartment.events.relay.max-backoff:5m}") Duration maxBackoff) {
+        this(apartmentOutboxRepository, kafkaTemplate, objectMapper, new TransactionTemplate(transactionManager),
+                Clock.systemUTC(), topic, batchSize, sendTimeout, initialBackoff, maxBackoff);
+    }
+
+    ApartmentOutboxRelay(ApartmentOutboxRepository apartmentOutboxRepository, KafkaTemplate<String, Object> kafkaTemplate,
+                         ObjectMapper objectMapper, TransactionOperations transactionOperations, Clock clock, String topic,
+                         int batchSize, Duration sendTimeout, Duration initialBackoff, Duration maxBackoff) {
+        this.apartmentOutboxRepository = apartmentOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionOperations = transactionOperations;
+        this.clock = clock;
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    // Keeps draining while batches come back full, so a backlog is not limited to one batch per interval. Stops
+    // as soon as a batch publishes nothing, e.g. while the broker is down or the oldest rows wait for a retry.
+    @Scheduled(fixedDelayString = "${app.apartment.events.relay.interval-ms:1000}")
+    public int relay() {
+        int published = 0;
+        BatchResult result;
+        do {
+            result = transactionOperations.execute(status -> relayBatch());
+            published += result.published();
+        } while (result.locked() == batchSize && result.published() > 0);
+        return published;
+    }
+
+    private record BatchResult(int locked, int published) {}
+
+    // One transaction per batch: the locked rows are deleted, or rescheduled, when it commits. The whole batch is
+    // sent before any ack is awaited, so a batch costs one broker round trip rather than one per event.
+    private BatchResult relayBatch() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<ApartmentOutboxEvent> batch = apartmentOutboxRepository.lockOldest(Limit.of(batchSize));
+        Set<Long> apartments = new HashSet<>();
+        List<Map.Entry<ApartmentOutboxEvent, CompletableFuture<?>>> sends = new ArrayList<>();
+        for (ApartmentOutboxEvent event : batch) {
+            // The apartment's oldest event is either being sent or waiting for its retry
+            if (!apartments.add(event.getApartmentId()) || event.getNextAttemptAt().isAfter(now)) {
+                continue;
+            }
+            try {
+                sends.add(Map.entry(event, send(event)));
+            } catch (Exception e) {
+                reschedule(event, now, e);
+            }
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<ApartmentOutboxEvent> published = new ArrayList<>();
+        for (Map.Entry<ApartmentOutboxEvent, CompletableFuture<?>> send : sends) {
+            try {
+                send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(send.getKey());
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                reschedule(send.getKey(), now, e);
+            }
+        }
+        apartmentOutboxRepository.deleteAllInBatch(published);
+        if (!published.isEmpty()) {
+            logger.debug("Published {} apartment events", published.size());
+        }
+        return new BatchResult(batch.size(), published.size());
+    }
+
+    private CompletableFuture<?> send(ApartmentOutboxEvent event) throws Exception {
+        Class<?> type = EVENT_TYPES.get(event.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown apartment event type " + event.getEventType());
+        }
+        Object payload = objectMapper.readValue(event.getPayload(), type);
+        return kafkaTemplate.send(topic, event.getApartmentId().toString(), payload);
+    }
+
+    private void reschedule(ApartmentOutboxEvent event, LocalDateTime now, Exception failure) {
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = backoff(attempts);
+        String message = String.valueOf(failure.getMessage());
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(now.plus(backoff));
+        event.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        logger.warn("Failed to publish {} for apartment {} (attempt {}), retrying in {}",
+                event.getEventType(), event.getApartmentId(), attempts, backoff, failure);
+    }
+
+    // Doubles from initial-backoff on every failed attempt, up to max-backoff
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,102 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.repository.ApartmentPurgeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Removes soft-deleted apartments, with their blocks and contacts, once the grace period has passed. Each batch
+// is a single set-based statement committed on its own, so DELETE requests never pay for the cascade and the
+// purge never holds locks for long.
+@Service
+@ConditionalOnProperty(name = "app.apartment.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class ApartmentPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApartmentPurgeJob.class);
+
+    private final ApartmentPurgeRepository apartmentPurgeRepository;
+    private final Clock clock;
+
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+
+    private final Counter purgedCounter;
+    private final Timer batchTimer;
+
+    @Autowired
+    public ApartmentPurgeJob(ApartmentPurgeRepository apartmentPurgeRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.apartment.purge.grace-period:1h}") Duration gracePeriod,
+                             @Value("${app.apartment.purge.batch-size:200}") int batchSize,
+                             @Value("${app.apartment.purge.max-batches-per-run:100}") int maxBatchesPerRun,
+                             @Value("${app.apartment.purge.pause-ms:100}") long pauseMillis) {
+        this(apartmentPurgeRepository, meterRegistry, Clock.systemDefaultZone(), gracePeriod, batchSize, maxBatchesPerRun, pauseMillis);
+    }
+
+    ApartmentPurgeJob(ApartmentPurgeRepository apartmentPurgeRepository, MeterRegistry meterRegistry, Clock clock,
+                      Duration gracePeriod, int batchSize, int maxBatchesPerRun, long pauseMillis) {
+        this.apartmentPurgeRepository = apartmentPurgeRepository;
+        this.clock = clock;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.purgedCounter = Counter.builder("apartments.purge.purged")
+                .description("Soft-deleted apartments physically removed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("apartments.purge.batch")
+                .description("Time taken by one purge batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.apartment.purge.interval-ms:300000}")
+    public int purge() {
+        LocalDateTime deletedBefore = LocalDateTime.now(clock).minus(gracePeriod);
+
+        int total = 0;
+        for (int batch = 1; batch <= maxBatchesPerRun; batch++) {
+            int purged = batchTimer.record(() -> apartmentPurgeRepository.purgeBatch(deletedBefore, batchSize));
+            purgedCounter.increment(purged);
+            total += purged;
+            if (purged < batchSize) {
+                break;
+            }
+            logger.debug("Purge batch {} removed {} apartments ({} so far)", batch, purged, total);
+            if (!pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Purged {} soft-deleted apartments", total);
+        }
+        return total;
+    }
+
+    // Each batch deletes from three tables at once; the pause lets replicas replay it and lets concurrent
+    // apartment writes through before the next batch
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.common.events.ApartmentDeletedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+// Applies apartment changes made on other instances to this instance's search index, name suggester and
+// location facets. Like cache invalidation, every instance reads the whole topic under its own consumer group.
+// Events for this instance's own changes are applied a second time, which leaves the same result.
+@Component
+@ConditionalOnProperty(name = "app.search.remote-updates.enabled", havingValue = "true", matchIfMissing = true)
+public class ApartmentSearchEventListener {
+
+    private final ApartmentSearchService apartmentSearchService;
+
+    public ApartmentSearchEventListener(ApartmentSearchService apartmentSearchService) {
+        this.apartmentSearchService = apartmentSearchService;
+    }
+
+    // Keyed by apartment id; created and updated events both reload the apartment
+    @KafkaListener(topics = "${app.apartment.events.topic:apartment-events}",
+            groupId = "${spring.application.name}-search-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onApartmentEvent(ConsumerRecord<String, Object> record) {
+        Long apartmentId = Long.valueOf(record.key());
+        if (record.value() instanceof ApartmentDeletedEvent) {
+            apartmentSearchService.removeApartment(apartmentId);
+        } else {
+            apartmentSearchService.reindexApartment(apartmentId);
+        }
+    }
+}
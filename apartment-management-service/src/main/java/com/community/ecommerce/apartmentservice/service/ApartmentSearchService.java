@@ -0,0 +1,23 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentSuggestion;
+import com.community.ecommerce.apartmentservice.dto.LocationFacets;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ApartmentSearchService {
+    Page<ApartmentResponse> searchApartments(String query, Pageable pageable);
+
+    List<ApartmentSuggestion> suggestApartments(String prefix, int limit);
+
+    LocationFacets getLocationFacets(String state, String city);
+
+    int rebuildIndex();
+
+    void reindexApartment(Long apartmentId);
+
+    void removeApartment(Long apartmentId);
+}
@@ -1,18 +1,42 @@
 package com.community.ecommerce.apartmentservice.service;
 
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentScrollResponse;
 import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.model.ApartmentSortKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Set;
+
 public interface ApartmentService {
     Page<ApartmentDomain> getAllApartments(Pageable pageable);
 
+    Page<ApartmentResponse> getApartmentResponses(Pageable pageable, Set<ApartmentField> fields);
+
+    ApartmentScrollResponse scrollApartmentResponses(String cursor, int size, ApartmentSortKey sortKey, Set<ApartmentField> fields);
+
     ApartmentDomain saveApartment(ApartmentDomain apartmentDomain);
 
     ApartmentDomain getApartmentById(Long id);
 
+    ApartmentDomain getApartmentById(Long id, Set<ApartmentField> fields);
+
     Page<ApartmentDomain> searchApartmentsByName(String name, Pageable pageable);
 
+    Page<ApartmentResponse> searchApartmentResponsesByName(String name, Pageable pageable, Set<ApartmentField> fields);
+
+    ApartmentScrollResponse scrollApartmentResponsesByName(String name, String cursor, int size, ApartmentSortKey sortKey,
+                                                           Set<ApartmentField> fields);
+
+    Page<ApartmentDomain> searchApartmentsByLocation(String state, String city, String zipcode, Pageable pageable);
+
+    Page<ApartmentResponse> searchApartmentResponsesByLocation(String state, String city, String zipcode, Pageable pageable,
+                                                               Set<ApartmentField> fields);
+
+    void verifyBlockExists(Long id, String blockName);
+
     ApartmentDomain updateApartment(Long id, ApartmentDomain apartmentDomain);
 
     void deleteApartment(Long id);
@@ -0,0 +1,163 @@
+package com.community.ecommerce.apartmentservice.service.impl;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentImportEvent;
+import com.community.ecommerce.apartmentservice.dto.ApartmentRegistrationRequest;
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.event.ApartmentsImportedEvent;
+import com.community.ecommerce.apartmentservice.importer.ApartmentImportReader;
+import com.community.ecommerce.apartmentservice.importer.ApartmentImportRow;
+import com.community.ecommerce.apartmentservice.importer.ImportFormat;
+import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.repository.ApartmentRepository;
+import com.community.ecommerce.apartmentservice.service.ApartmentImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+public class ApartmentImportServiceImpl implements ApartmentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApartmentImportServiceImpl.class);
+
+    private final ApartmentRepository apartmentRepository;
+    private final ApartmentMapper apartmentMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ApartmentImportServiceImpl(ApartmentRepository apartmentRepository,
+                                      ApartmentMapper apartmentMapper,
+                                      EntityManager entityManager,
+                                      Validator validator,
+                                      ObjectMapper objectMapper,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.import.chunk-size:500}") int chunkSize) {
+        this.apartmentRepository = apartmentRepository;
+        this.apartmentMapper = apartmentMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ApartmentImportEvent importApartments(Reader input, ImportFormat format, Consumer<ApartmentImportEvent> events) {
+        long start = System.currentTimeMillis();
+        ImportCounts counts = new ImportCounts();
+        List<ApartmentImportRow> chunk = new ArrayList<>(chunkSize);
+
+        Iterator<ApartmentImportRow> rows = ApartmentImportReader.open(input, format, objectMapper);
+        while (rows.hasNext()) {
+            ApartmentImportRow row = rows.next();
+            counts.processed++;
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                counts.failed++;
+                events.accept(ApartmentImportEvent.error(row.rowNumber(), error));
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, counts, events);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, counts, events);
+        }
+
+        long tookMillis = System.currentTimeMillis() - start;
+        logger.info("Imported {} of {} apartments in {} ms ({} failed)", counts.imported, counts.processed, tookMillis, counts.failed);
+        ApartmentImportEvent completed = ApartmentImportEvent.completed(counts.processed, counts.imported, counts.failed, tookMillis);
+        events.accept(completed);
+        return completed;
+    }
+
+    private void importChunk(List<ApartmentImportRow> chunk, ImportCounts counts, Consumer<ApartmentImportEvent> events) {
+        try {
+            List<ApartmentDomain> imported = transactionTemplate.execute(status -> persistAndPublish(chunk));
+            counts.imported += imported.size();
+        } catch (RuntimeException chunkFailure) {
+            // Something in the chunk violated a database constraint; retry row by row to isolate it
+            entityManager.clear();
+            for (ApartmentImportRow row : chunk) {
+                try {
+                    transactionTemplate.execute(status -> persistAndPublish(List.of(row)));
+                    counts.imported++;
+                } catch (RuntimeException rowFailure) {
+                    entityManager.clear();
+                    counts.failed++;
+                    events.accept(ApartmentImportEvent.error(row.rowNumber(),
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()));
+                }
+            }
+        }
+        events.accept(ApartmentImportEvent.progress(counts.processed, counts.imported, counts.failed));
+    }
+
+    // Published inside the transaction so the apartments' outbox events commit, or roll back, with them
+    private List<ApartmentDomain> persistAndPublish(List<ApartmentImportRow> rows) {
+        List<ApartmentDomain> imported = persist(rows);
+        eventPublisher.publishEvent(new ApartmentsImportedEvent(imported));
+        return imported;
+    }
+
+    // Inserts go out as JDBC batches per table (hibernate.jdbc.batch_size with order_inserts)
+    private List<ApartmentDomain> persist(List<ApartmentImportRow> rows) {
+        List<Apartment> apartments = new ArrayList<>(rows.size());
+        for (ApartmentImportRow row : rows) {
+            Apartment apartment = apartmentMapper.toEntity(apartmentMapper.toDomain(row.request()));
+            apartment.getApartmentBlocks().forEach(block -> block.setApartment(apartment));
+            apartment.getApartmentContacts().forEach(contact -> contact.setApartment(apartment));
+            apartments.add(apartment);
+        }
+        apartmentRepository.saveAll(apartments);
+        entityManager.flush();
+        List<ApartmentDomain> imported = apartments.stream().map(apartmentMapper::toDomain).toList();
+        // Keep the persistence context from growing across chunks
+        entityManager.clear();
+        return imported;
+    }
+
+    private String validate(ApartmentRegistrationRequest request) {
+        Set<ConstraintViolation<ApartmentRegistrationRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static final class ImportCounts {
+        private long processed;
+        private long imported;
+        private long failed;
+    }
+}
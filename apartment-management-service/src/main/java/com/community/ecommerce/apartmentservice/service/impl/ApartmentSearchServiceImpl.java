@@ -0,0 +1,220 @@
+package com.community.ecommerce.apartmentservice.service.impl;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentAddressDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentScrollResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentSuggestion;
+import com.community.ecommerce.apartmentservice.dto.LocationFacets;
+import com.community.ecommerce.apartmentservice.event.ApartmentChangedEvent;
+import com.community.ecommerce.apartmentservice.event.ApartmentsImportedEvent;
+import com.community.ecommerce.apartmentservice.exception.ResourceNotFoundException;
+import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.model.ApartmentSortKey;
+import com.community.ecommerce.apartmentservice.search.ApartmentNameSuggester;
+import com.community.ecommerce.apartmentservice.search.ApartmentSearchIndex;
+import com.community.ecommerce.apartmentservice.search.LocationFacetCounts;
+import com.community.ecommerce.apartmentservice.service.ApartmentSearchService;
+import com.community.ecommerce.apartmentservice.service.ApartmentService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ApartmentSearchServiceImpl implements ApartmentSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApartmentSearchServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ApartmentSearchIndex apartmentSearchIndex;
+    private final ApartmentNameSuggester apartmentNameSuggester;
+    private final LocationFacetCounts locationFacetCounts;
+    private final ApartmentService apartmentService;
+    private final ApartmentMapper apartmentMapper;
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // Suggester and facet updates go through this lock, so a rebuild can swap in its snapshots and replay the
+    // changes made while it scanned as one step. Changes are keyed by apartment id, null meaning removed.
+    private final Object changesLock = new Object();
+    private Map<Long, ApartmentResponse> changesDuringRebuild;
+
+    @Override
+    public Page<ApartmentResponse> searchApartments(String query, Pageable pageable) {
+        return apartmentSearchIndex.search(query, pageable);
+    }
+
+    @Override
+    public List<ApartmentSuggestion> suggestApartments(String prefix, int limit) {
+        return apartmentNameSuggester.suggest(prefix, limit);
+    }
+
+    @Override
+    public LocationFacets getLocationFacets(String state, String city) {
+        return locationFacetCounts.facets(state, city);
+    }
+
+    // One rebuild at a time, so changesDuringRebuild always belongs to the running one
+    @Override
+    public synchronized int rebuildIndex() {
+        long start = System.currentTimeMillis();
+        Map<Long, ApartmentNameSuggester.Entry> suggestions = new HashMap<>();
+        Map<Long, LocationFacetCounts.Location> locations = new HashMap<>();
+        // Walks the apartments a batch at a time by cursor so the whole table is never held in memory,
+        // and apartments created during the rebuild are neither skipped nor indexed twice. Even the first batch
+        // is only fetched once the scan starts, after concurrent changes are being recorded.
+        ApartmentScrollResponse beforeFirst = new ApartmentScrollResponse(List.of(), null);
+        Iterator<ApartmentResponse> apartments = Stream.iterate(
+                        beforeFirst,
+                        batch -> batch == beforeFirst || !batch.content().isEmpty(),
+                        batch -> batch == beforeFirst || batch.nextCursor() != null
+                                ? nextBatch(batch.nextCursor())
+                                : new ApartmentScrollResponse(List.of(), null))
+                .flatMap(batch -> batch.content().stream())
+                .peek(apartment -> {
+                    suggestions.put(apartment.id(), toSuggesterEntry(apartment));
+                    locations.put(apartment.id(), toLocation(apartment));
+                })
+                .iterator();
+        synchronized (changesLock) {
+            changesDuringRebuild = new HashMap<>();
+        }
+        int indexed;
+        try {
+            // The index replays its own concurrent changes; the suggester and facets are brought up to date here
+            indexed = apartmentSearchIndex.rebuild(apartments);
+            synchronized (changesLock) {
+                changesDuringRebuild.forEach((apartmentId, apartment) -> {
+                    if (apartment == null) {
+                        suggestions.remove(apartmentId);
+                        locations.remove(apartmentId);
+                    } else {
+                        suggestions.put(apartmentId, toSuggesterEntry(apartment));
+                        locations.put(apartmentId, toLocation(apartment));
+                    }
+                });
+                apartmentNameSuggester.replaceAll(suggestions.values());
+                locationFacetCounts.replaceAll(locations);
+            }
+        } finally {
+            synchronized (changesLock) {
+                changesDuringRebuild = null;
+            }
+        }
+        logger.info("Rebuilt apartment search index with {} apartments in {} ms", indexed, System.currentTimeMillis() - start);
+        return indexed;
+    }
+
+    // Reloads the apartment rather than trusting the event payload, which carries only part of what is indexed
+    @Override
+    public void reindexApartment(Long apartmentId) {
+        ApartmentResponse apartment;
+        try {
+            apartment = apartmentMapper.toResponse(apartmentService.getApartmentById(apartmentId, ApartmentField.ALL));
+        } catch (ResourceNotFoundException e) {
+            removeApartment(apartmentId);
+            return;
+        }
+        index(apartment);
+    }
+
+    @Override
+    public void removeApartment(Long apartmentId) {
+        apartmentSearchIndex.delete(apartmentId);
+        synchronized (changesLock) {
+            apartmentNameSuggester.remove(apartmentId);
+            locationFacetCounts.remove(apartmentId);
+            recordChange(apartmentId, null);
+        }
+    }
+
+    private ApartmentScrollResponse nextBatch(String cursor) {
+        return apartmentService.scrollApartmentResponses(cursor, REBUILD_BATCH_SIZE, ApartmentSortKey.ID, ApartmentField.ALL);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexIfEmpty() {
+        // The suggester and facet counts are memory-only, so they need loading even when the index survived a restart
+        if (rebuildOnStartup && (apartmentSearchIndex.isEmpty() || apartmentNameSuggester.size() == 0)) {
+            rebuildIndex();
+        }
+    }
+
+    // Runs after the write has committed, or straight away when the write had no surrounding transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApartmentChanged(ApartmentChangedEvent event) {
+        try {
+            if (event.isDeleted()) {
+                removeApartment(event.apartmentId());
+            } else {
+                index(apartmentMapper.toResponse(event.apartment()));
+            }
+        } catch (RuntimeException e) {
+            // The database write already succeeded, so a failed index update only leaves search stale
+            logger.warn("Failed to update search index for apartment {}, a rebuild will resync it", event.apartmentId(), e);
+        }
+    }
+
+    // Applies a whole import chunk with one index write and one suggester rebuild
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApartmentsImported(ApartmentsImportedEvent event) {
+        try {
+            List<ApartmentResponse> apartments = event.apartments().stream().map(apartmentMapper::toResponse).toList();
+            apartmentSearchIndex.indexAll(apartments);
+            synchronized (changesLock) {
+                apartmentNameSuggester.putAll(apartments.stream().map(ApartmentSearchServiceImpl::toSuggesterEntry).toList());
+                apartments.forEach(apartment -> {
+                    locationFacetCounts.put(apartment.id(), toLocation(apartment));
+                    recordChange(apartment.id(), apartment);
+                });
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to update search index for {} imported apartments, a rebuild will resync it", event.apartments().size(), e);
+        }
+    }
+
+    private void index(ApartmentResponse apartment) {
+        apartmentSearchIndex.index(apartment);
+        synchronized (changesLock) {
+            apartmentNameSuggester.put(toSuggesterEntry(apartment));
+            locationFacetCounts.put(apartment.id(), toLocation(apartment));
+            recordChange(apartment.id(), apartment);
+        }
+    }
+
+    // Called under changesLock
+    private void recordChange(Long apartmentId, ApartmentResponse apartment) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.put(apartmentId, apartment);
+        }
+    }
+
+    // Communities with more blocks rank higher among completions sharing a prefix
+    private static ApartmentNameSuggester.Entry toSuggesterEntry(ApartmentResponse apartment) {
+        int blocks = apartment.blockNames() == null ? 0 : apartment.blockNames().size();
+        return new ApartmentNameSuggester.Entry(apartment.id(), apartment.apartmentName(), blocks);
+    }
+
+    private static LocationFacetCounts.Location toLocation(ApartmentResponse apartment) {
+        ApartmentAddressDTO address = apartment.address();
+        return address == null
+                ? new LocationFacetCounts.Location(null, null, null)
+                : new LocationFacetCounts.Location(address.stateName(), address.cityName(), address.zipCode());
+    }
+}
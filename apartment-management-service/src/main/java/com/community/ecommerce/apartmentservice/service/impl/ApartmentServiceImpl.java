@@ -1,17 +1,49 @@
 package com.community.ecommerce.apartmentservice.service.impl;
 
+import com.community.ecommerce.apartmentservice.config.CacheConfig;
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentScrollResponse;
 import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.entity.ApartmentBlocks;
+import com.community.ecommerce.apartmentservice.entity.ApartmentContacts;
+import com.community.ecommerce.apartmentservice.event.ApartmentChangedEvent;
 import com.community.ecommerce.apartmentservice.exception.ResourceNotFoundException;
 import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
+import com.community.ecommerce.apartmentservice.model.ApartmentBlocksDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentContactsDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentCursor;
 import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.model.ApartmentSortKey;
 import com.community.ecommerce.apartmentservice.repository.ApartmentRepository;
 import com.community.ecommerce.apartmentservice.service.ApartmentService;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,14 +52,29 @@ public class ApartmentServiceImpl implements ApartmentService {
 
     private final ApartmentRepository apartmentRepository;
     private final ApartmentMapper apartmentMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ApartmentDomain> getAllApartments(Pageable pageable) {
-        return apartmentRepository.findAll(pageable)
-                .map(apartmentMapper::toDomain);
+        return loadPage(apartmentRepository.findPageOfIds(pageable), ApartmentField.ALL, apartmentMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Page<ApartmentResponse> getApartmentResponses(Pageable pageable, Set<ApartmentField> fields) {
+        return loadPage(apartmentRepository.findPageOfIds(pageable), fields, apartment -> apartmentMapper.toResponse(apartment, fields));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApartmentScrollResponse scrollApartmentResponses(String cursor, int size, ApartmentSortKey sortKey,
+                                                            Set<ApartmentField> fields) {
+        return scroll(null, cursor, size, sortKey, fields);
+    }
+
+    @Override
+    @Transactional
     public ApartmentDomain saveApartment(ApartmentDomain apartmentDomain) {
         Apartment apartment = apartmentMapper.toEntity(apartmentDomain);
         // Set bidirectional relationships
@@ -35,44 +82,266 @@ public class ApartmentServiceImpl implements ApartmentService {
         apartment.getApartmentContacts().forEach(contact -> contact.setApartment(apartment));
 
         Apartment savedApartment = apartmentRepository.save(apartment);
-        return apartmentMapper.toDomain(savedApartment);
+        ApartmentDomain savedDomain = apartmentMapper.toDomain(savedApartment);
+        eventPublisher.publishEvent(ApartmentChangedEvent.created(savedDomain));
+        return savedDomain;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.APARTMENTS_CACHE, key = "#id")
     public ApartmentDomain getApartmentById(Long id) {
         Apartment apartment = apartmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Apartment not found with id: " + id));
         return apartmentMapper.toDomain(apartment);
     }
 
+    // Not cached: only the requested collections are loaded, and the cache holds complete apartments
     @Override
+    @Transactional(readOnly = true)
+    public ApartmentDomain getApartmentById(Long id, Set<ApartmentField> fields) {
+        Apartment apartment = apartmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Apartment not found with id: " + id));
+        return toDomain(apartment, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<ApartmentDomain> searchApartmentsByName(String name, Pageable pageable) {
-        return apartmentRepository.findByApartmentNameContainingIgnoreCase(name, pageable)
-                .map(apartmentMapper::toDomain);
+        return loadPage(apartmentRepository.findPageOfIdsByApartmentNameContainingIgnoreCase(name, pageable),
+                ApartmentField.ALL, apartmentMapper::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ApartmentResponse> searchApartmentResponsesByName(String name, Pageable pageable, Set<ApartmentField> fields) {
+        return loadPage(apartmentRepository.findPageOfIdsByApartmentNameContainingIgnoreCase(name, pageable),
+                fields, apartment -> apartmentMapper.toResponse(apartment, fields));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApartmentScrollResponse scrollApartmentResponsesByName(String name, String cursor, int size,
+                                                                  ApartmentSortKey sortKey, Set<ApartmentField> fields) {
+        // Escapes % and _ the same way the paged name search does
+        String pattern = "%" + EscapeCharacter.DEFAULT.escape(name.toLowerCase()) + "%";
+        Specification<Apartment> nameContains = (root, query, cb) ->
+                cb.like(cb.lower(root.get("apartmentName")), pattern, EscapeCharacter.DEFAULT.getEscapeCharacter());
+        return scroll(nameContains, cursor, size, sortKey, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ApartmentDomain> searchApartmentsByLocation(String state, String city, String zipcode, Pageable pageable) {
+        return loadPage(findPageOfIdsByLocation(state, city, zipcode, pageable), ApartmentField.ALL, apartmentMapper::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ApartmentResponse> searchApartmentResponsesByLocation(String state, String city, String zipcode,
+                                                                      Pageable pageable, Set<ApartmentField> fields) {
+        return loadPage(findPageOfIdsByLocation(state, city, zipcode, pageable),
+                fields, apartment -> apartmentMapper.toResponse(apartment, fields));
+    }
+
+    private Page<Long> findPageOfIdsByLocation(String state, String city, String zipcode, Pageable pageable) {
+        // Only the filters that are present become predicates, so Postgres can use the
+        // (state, city, zipcode) or zipcode index for the combination given
+        Specification<Apartment> location = Specification.allOf(
+                addressEquals("state", state),
+                addressEquals("city", city),
+                addressEquals("zipcode", zipcode));
+        return apartmentRepository.findAll(location, pageable).map(Apartment::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void verifyBlockExists(Long id, String blockName) {
+        boolean exists = apartmentRepository.findBlockExistence(id, blockName)
+                .orElseThrow(() -> new ResourceNotFoundException("Apartment not found with id: " + id));
+        if (!exists) {
+            throw new ResourceNotFoundException("Block '" + blockName + "' not found in apartment with id: " + id);
+        }
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.APARTMENTS_CACHE, key = "#id")
+    @Transactional
     public ApartmentDomain updateApartment(Long id, ApartmentDomain apartmentDomain) {
         Apartment existingApartment = apartmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Apartment not found with id: " + id));
 
-        // Use the mapper to update the existing entity from the domain object
+        // Use the mapper to update the scalar fields of the existing entity from the domain object
         apartmentMapper.updateEntity(apartmentDomain, existingApartment);
 
-        // Set bidirectional relationships
-        existingApartment.getApartmentBlocks().forEach(block -> block.setApartment(existingApartment));
-        existingApartment.getApartmentContacts().forEach(contact -> contact.setApartment(existingApartment));
+        // Children are diffed rather than replaced, so only added, changed and removed rows are written
+        mergeChildren(existingApartment.getApartmentBlocks(), apartmentDomain.getApartmentBlocksDomainList(),
+                ApartmentBlocks::getBlockName, ApartmentBlocksDomain::getBlockName,
+                (requested, block) -> { },
+                requested -> {
+                    ApartmentBlocks block = apartmentMapper.toBlockEntity(requested);
+                    block.setApartment(existingApartment);
+                    return block;
+                });
+        mergeChildren(existingApartment.getApartmentContacts(), apartmentDomain.getApartmentContactsDomainList(),
+                ApartmentContacts::getContactPhoneNumber, ApartmentContactsDomain::getContactPhoneNumber,
+                (requested, contact) -> {
+                    contact.setContactName(requested.getContactName());
+                    contact.setContactEmail(requested.getContactEmail());
+                },
+                requested -> {
+                    ApartmentContacts contact = apartmentMapper.toContactEntity(requested);
+                    contact.setApartment(existingApartment);
+                    return contact;
+                });
 
-        Apartment updatedApartment = apartmentRepository.save(existingApartment);
-        return apartmentMapper.toDomain(updatedApartment);
+        // Child-only edits do not dirty the apartment row, so touch it to always bump the version
+        existingApartment.setUpdatedAt(LocalDateTime.now());
+
+        // Flush so the returned apartment carries the incremented version
+        Apartment updatedApartment = apartmentRepository.saveAndFlush(existingApartment);
+        ApartmentDomain updatedDomain = apartmentMapper.toDomain(updatedApartment);
+        eventPublisher.publishEvent(ApartmentChangedEvent.updated(updatedDomain));
+        return updatedDomain;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.APARTMENTS_CACHE, key = "#id")
+    @Transactional
     public void deleteApartment(Long id) {
-        if (!apartmentRepository.existsById(id)) {
+        // Soft delete is a single UPDATE however many blocks and contacts the apartment has
+        if (apartmentRepository.softDeleteById(id, LocalDateTime.now()) == 0) {
             throw new ResourceNotFoundException("Apartment not found with id: " + id);
         }
-        // Note: Consider soft delete in the future to avoid orphaned residents.
-        apartmentRepository.deleteById(id);
+        eventPublisher.publishEvent(ApartmentChangedEvent.deleted(id));
+    }
+
+    // Matches existing children to requested ones by natural key. Matched children are updated in place, unmatched
+    // existing ones are removed (deleted through orphanRemoval) and only the remaining requested ones are created.
+    // Duplicate keys pair up one to one, in order.
+    private static <E, D, K> void mergeChildren(List<E> existing, List<D> requested,
+                                                Function<E, K> existingKey, Function<D, K> requestedKey,
+                                                BiConsumer<D, E> update, Function<D, E> create) {
+        Map<K, Deque<E>> unmatched = new HashMap<>();
+        existing.forEach(child -> unmatched.computeIfAbsent(existingKey.apply(child), key -> new ArrayDeque<>()).add(child));
+
+        // Entities are compared by identity, their Lombok equals/hashCode walk the parent association
+        Set<E> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<E> created = new ArrayList<>();
+        for (D child : requested == null ? List.<D>of() : requested) {
+            Deque<E> candidates = unmatched.get(requestedKey.apply(child));
+            E match = candidates == null ? null : candidates.poll();
+            if (match != null) {
+                update.accept(child, match);
+                kept.add(match);
+            } else {
+                created.add(create.apply(child));
+            }
+        }
+        existing.removeIf(child -> !kept.contains(child));
+        existing.addAll(created);
+    }
+
+    // Response read paths map each entity straight to its response; only writes and callers that need the
+    // domain model go through ApartmentDomain
+    private <T> Page<T> loadPage(Page<Long> idPage, Set<ApartmentField> fields, Function<Apartment, T> mapping) {
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), idPage.getPageable(), idPage.getTotalElements());
+        }
+        Map<Long, Apartment> apartments = fetchWithCollections(idPage.getContent(), fields);
+        // Keep the order of the id page, the fetch queries do not preserve it. An apartment soft-deleted between
+        // the two queries is missing from the fetch and is left out of the page.
+        List<T> content = idPage.getContent().stream()
+                .map(apartments::get)
+                .filter(Objects::nonNull)
+                .map(mapping)
+                .toList();
+        long missing = idPage.getNumberOfElements() - content.size();
+        return new PageImpl<>(content, idPage.getPageable(), idPage.getTotalElements() - missing);
+    }
+
+    // Keyset pagination: each page seeks past the cursor through the index instead of skipping OFFSET rows, so the
+    // cost of a page does not depend on how deep the scroll is. Apartments inserted behind the cursor are not
+    // revisited and ones ahead of it are picked up, so a full scroll never repeats or skips an existing apartment.
+    private ApartmentScrollResponse scroll(Specification<Apartment> filter, String cursor, int size,
+                                           ApartmentSortKey sortKey, Set<ApartmentField> fields) {
+        ApartmentCursor after = cursor == null || cursor.isBlank() ? null : ApartmentCursor.decode(cursor, sortKey);
+        // One row past the page tells whether there is a next page without a count query
+        List<Apartment> window = apartmentRepository.findBy(Specification.allOf(filter, after(after)),
+                query -> query.sortBy(sortKey.getSort()).limit(size + 1).all());
+        boolean hasNext = window.size() > size;
+        List<Apartment> page = hasNext ? window.subList(0, size) : window;
+
+        // The page's apartments are already managed, so the fetch queries initialise their collections in place
+        List<Long> ids = page.stream().map(Apartment::getId).toList();
+        if (!ids.isEmpty() && fields.contains(ApartmentField.BLOCK_NAMES)) {
+            apartmentRepository.findAllWithBlocksByIdIn(ids);
+        }
+        if (!ids.isEmpty() && fields.contains(ApartmentField.CONTACTS)) {
+            apartmentRepository.findAllWithContactsByIdIn(ids);
+        }
+        List<ApartmentResponse> content = page.stream().map(apartment -> apartmentMapper.toResponse(apartment, fields)).toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            Apartment last = page.get(page.size() - 1);
+            nextCursor = new ApartmentCursor(sortKey, last.getId(),
+                    sortKey == ApartmentSortKey.APARTMENT_NAME ? last.getApartmentName() : null).encode();
+        }
+        return new ApartmentScrollResponse(content, nextCursor);
+    }
+
+    // Matches rows strictly after the cursor in (sort key, id) order
+    private static Specification<Apartment> after(ApartmentCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Predicate afterId = cb.greaterThan(root.get("id"), cursor.id());
+            if (cursor.sortKey() == ApartmentSortKey.ID) {
+                return afterId;
+            }
+            Path<String> name = root.get("apartmentName");
+            return cb.or(cb.greaterThan(name, cursor.apartmentName()),
+                    cb.and(cb.equal(name, cursor.apartmentName()), afterId));
+        };
+    }
+
+    // Fetches only the collections behind the requested fields, one query per collection
+    private Map<Long, Apartment> fetchWithCollections(List<Long> ids, Set<ApartmentField> fields) {
+        boolean blocks = fields.contains(ApartmentField.BLOCK_NAMES);
+        boolean contacts = fields.contains(ApartmentField.CONTACTS);
+        List<Apartment> loaded = blocks ? apartmentRepository.findAllWithBlocksByIdIn(ids)
+                : contacts ? apartmentRepository.findAllWithContactsByIdIn(ids)
+                : apartmentRepository.findAllById(ids);
+        Map<Long, Apartment> apartments = loaded.stream()
+                .collect(Collectors.toMap(Apartment::getId, Function.identity()));
+        // Both queries run in the same persistence context, so the second one fills the
+        // contacts of the instances already loaded by the first.
+        if (blocks && contacts && !apartments.isEmpty()) {
+            apartmentRepository.findAllWithContactsByIdIn(apartments.keySet());
+        }
+        return apartments;
+    }
+
+    // Collections outside the requested fields stay null and their lazy associations are never initialised
+    private ApartmentDomain toDomain(Apartment apartment, Set<ApartmentField> fields) {
+        if (fields.containsAll(ApartmentField.ALL)) {
+            return apartmentMapper.toDomain(apartment);
+        }
+        ApartmentDomain domain = apartmentMapper.toDomainWithoutCollections(apartment);
+        if (fields.contains(ApartmentField.BLOCK_NAMES)) {
+            domain.setApartmentBlocksDomainList(apartmentMapper.blocksToDomainList(apartment.getApartmentBlocks()));
+        }
+        if (fields.contains(ApartmentField.CONTACTS)) {
+            domain.setApartmentContactsDomainList(apartmentMapper.contactsToDomainList(apartment.getApartmentContacts()));
+        }
+        return domain;
+    }
+
+    private static Specification<Apartment> addressEquals(String attribute, String value) {
+        return (root, query, cb) -> value == null || value.isBlank()
+                ? null
+                : cb.equal(root.get("address").get(attribute), value);
     }
 }
@@ -0,0 +1,85 @@
+package com.community.ecommerce.apartmentservice.config.datasource;
+
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.repository.ApartmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Routing through JpaTransactionManager, as the service runs it: the read-only flag is only bound after the
+// EntityManager's transaction has begun, so this relies on the lazy proxy deferring the physical connection
+// The second-level cache is off so the committed apartment does not leak into other tests' contexts
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReadWriteRoutingJpaTest {
+
+    // Hibernate creates the schema on the primary only; the replica gets just enough of a table to count
+    private static final int REPLICA_APARTMENTS = 3;
+
+    @Autowired
+    private ApartmentRepository apartmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyRepositoryCallsGoToReplica_andWritesToPrimary() {
+        assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+
+        apartmentRepository.save(Apartment.builder().apartmentName("Prestige Falcon City").build());
+
+        // SimpleJpaRepository.count() runs in a read-only transaction
+        assertThat(apartmentRepository.count()).isEqualTo(REPLICA_APARTMENTS);
+    }
+
+    @TestConfiguration
+    static class RoutingConfig {
+
+        @Bean
+        EmbeddedDatabase primaryDatabase() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        EmbeddedDatabase replicaDatabase() {
+            EmbeddedDatabase replica = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+            jdbcTemplate.execute("CREATE TABLE apartments (id BIGINT, deleted_at TIMESTAMP)");
+            for (int i = 1; i <= REPLICA_APARTMENTS; i++) {
+                jdbcTemplate.update("INSERT INTO apartments (id) VALUES (?)", i);
+            }
+            return replica;
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(@Qualifier("primaryDatabase") DataSource primary, @Qualifier("replicaDatabase") DataSource replica) {
+            ReplicationLagMonitor monitor = new ReplicationLagMonitor(replica, "SELECT 0", Duration.ofSeconds(5), Duration.ofSeconds(5));
+            monitor.checkReplicationLag();
+            return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor));
+        }
+    }
+}
@@ -4,26 +4,39 @@ import com.community.ecommerce.apartmentservice.dto.ApartmentAddressDTO;
 import com.community.ecommerce.apartmentservice.dto.ApartmentContactDTO;
 import com.community.ecommerce.apartmentservice.dto.ApartmentRegistrationRequest;
 import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentScrollResponse;
 import com.community.ecommerce.apartmentservice.exception.ResourceNotFoundException;
 import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
 import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.model.ApartmentSortKey;
 import com.community.ecommerce.apartmentservice.service.ApartmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,7 +62,7 @@ public class ApartmentControllerTest {
     @BeforeEach
     void setUp() {
         ApartmentAddressDTO addressDTO = new ApartmentAddressDTO("Kanakapura Road", "", "Bengaluru", "Karnataka", "India", "560062");
-        apartmentDomain = ApartmentDomain.builder().id(1L).apartmentName("Prestige Falcon City").build();
+        apartmentDomain = ApartmentDomain.builder().id(1L).apartmentName("Prestige Falcon City").version(3L).build();
         apartmentResponse = new ApartmentResponse(1L, "Prestige Falcon City", addressDTO, List.of(new ApartmentContactDTO("Priya", "p@p.com", "123")), List.of("A"));
         registrationRequest = new ApartmentRegistrationRequest("Prestige Falcon City", addressDTO, List.of(new ApartmentContactDTO("Priya", "p@p.com", "123")), List.of("A"));
     }
@@ -64,7 +77,47 @@ public class ApartmentControllerTest {
         mockMvc.perform(get("/api/v1/apartments/{id}", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L))
-                .andExpect(jsonPath("$.apartmentName").value("Prestige Falcon City"));
+                .andExpect(jsonPath("$.apartmentName").value("Prestige Falcon City"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void whenGetApartmentById_withoutAddress_thenReturnsNullAddress() throws Exception {
+        // Arrange
+        given(apartmentService.getApartmentById(1L)).willReturn(apartmentDomain);
+        given(apartmentMapper.toResponse(apartmentDomain))
+                .willReturn(new ApartmentResponse(1L, "Prestige Falcon City", null, List.of(), List.of("A")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/apartments/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"address\":null")))
+                .andExpect(jsonPath("$.fields").doesNotExist());
+    }
+
+    @Test
+    void whenGetApartmentById_withMatchingIfNoneMatch_thenReturns304_withoutBody() throws Exception {
+        // Arrange
+        given(apartmentService.getApartmentById(1L)).willReturn(apartmentDomain);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/apartments/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(apartmentMapper, never()).toResponse(any(ApartmentDomain.class));
+    }
+
+    @Test
+    void whenGetApartmentById_withStaleIfNoneMatch_thenReturns200() throws Exception {
+        // Arrange
+        given(apartmentService.getApartmentById(1L)).willReturn(apartmentDomain);
+        given(apartmentMapper.toResponse(apartmentDomain)).willReturn(apartmentResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/apartments/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
     }
 
     @Test
@@ -77,6 +130,72 @@ public class ApartmentControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenGetApartmentById_withFields_thenLoadsSparseApartment_andOmitsOtherFields() throws Exception {
+        // Arrange
+        Set<ApartmentField> fields = EnumSet.of(ApartmentField.ID, ApartmentField.BLOCK_NAMES);
+        given(apartmentService.getApartmentById(1L, fields)).willReturn(apartmentDomain);
+        given(apartmentMapper.toResponse(apartmentDomain)).willReturn(apartmentResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/apartments/{id}", 1L).param("fields", "blockNames"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.blockNames[0]").value("A"))
+                .andExpect(jsonPath("$.apartmentName").doesNotExist())
+                .andExpect(jsonPath("$.address").doesNotExist())
+                .andExpect(jsonPath("$.contacts").doesNotExist());
+        verify(apartmentService, never()).getApartmentById(1L);
+    }
+
+    @Test
+    void whenGetApartmentById_withUnknownField_thenReturns400() throws Exception {
+        mockMvc.perform(get("/api/v1/apartments/{id}", 1L).param("fields", "id,residents"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("residents")));
+    }
+
+    @Test
+    void whenScrollApartments_thenReturnsPage_andNextCursor_withCappedSize() throws Exception {
+        given(apartmentService.scrollApartmentResponses("abc", 1000, ApartmentSortKey.APARTMENT_NAME, ApartmentField.ALL))
+                .willReturn(new ApartmentScrollResponse(List.of(apartmentResponse), "def"));
+
+        mockMvc.perform(get("/api/v1/apartments/scroll")
+                        .param("cursor", "abc")
+                        .param("size", "5000")
+                        .param("sort", "apartmentName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].apartmentName").value("Prestige Falcon City"))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void whenScrollApartments_withUnknownSort_thenReturns400() throws Exception {
+        mockMvc.perform(get("/api/v1/apartments/scroll").param("sort", "createdAt"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("createdAt")));
+    }
+
+    @Test
+    void whenCheckBlock_thatExists_thenReturns204_forGetAndHead() throws Exception {
+        mockMvc.perform(head("/api/v1/apartments/{id}/blocks/{blockName}", 1L, "Tower A"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/apartments/{id}/blocks/{blockName}", 1L, "Tower A"))
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+        verify(apartmentService, times(2)).verifyBlockExists(1L, "Tower A");
+    }
+
+    @Test
+    void whenCheckBlock_thatIsMissing_thenReturns404() throws Exception {
+        doThrow(new ResourceNotFoundException("Block 'Tower Z' not found in apartment with id: 1"))
+                .when(apartmentService).verifyBlockExists(1L, "Tower Z");
+
+        mockMvc.perform(get("/api/v1/apartments/{id}/blocks/{blockName}", 1L, "Tower Z"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(containsString("Tower Z")));
+    }
+
     @Test
     void whenCreateApartment_withValidRequest_thenReturns201_andCreatedApartment() throws Exception {
         // Arrange
@@ -116,7 +235,8 @@ public class ApartmentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registrationRequest)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.apartmentName").value("Prestige Falcon City"));
+                .andExpect(jsonPath("$.apartmentName").value("Prestige Falcon City"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
     }
 
     @Test
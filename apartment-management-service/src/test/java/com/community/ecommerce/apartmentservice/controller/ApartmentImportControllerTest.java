@@ -0,0 +1,54 @@
+package com.community.ecommerce.apartmentservice.controller;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentImportEvent;
+import com.community.ecommerce.apartmentservice.importer.ImportFormat;
+import com.community.ecommerce.apartmentservice.service.ApartmentImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.Reader;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ApartmentImportController.class)
+public class ApartmentImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ApartmentImportService apartmentImportService;
+
+    @Test
+    void whenImportCsv_thenStreamsReportAsNdjson() throws Exception {
+        // Arrange
+        ApartmentImportEvent completed = ApartmentImportEvent.completed(2, 1, 1, 15);
+        given(apartmentImportService.importApartments(any(Reader.class), eq(ImportFormat.CSV), any()))
+                .willAnswer(invocation -> {
+                    Consumer<ApartmentImportEvent> events = invocation.getArgument(2);
+                    events.accept(ApartmentImportEvent.error(2, "apartmentName: must not be blank"));
+                    events.accept(completed);
+                    return completed;
+                });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/apartments/import")
+                        .contentType(ImportFormat.CSV_MEDIA_TYPE)
+                        .content("apartmentName\nPrestige\n\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ImportFormat.NDJSON_MEDIA_TYPE))
+                .andExpect(content().string("""
+                        {"type":"error","row":2,"message":"apartmentName: must not be blank"}
+                        {"type":"completed","processed":2,"imported":1,"failed":1,"tookMillis":15}
+                        """));
+    }
+}
@@ -0,0 +1,100 @@
+package com.community.ecommerce.apartmentservice.controller;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentAddressDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentSuggestion;
+import com.community.ecommerce.apartmentservice.dto.FacetCount;
+import com.community.ecommerce.apartmentservice.dto.LocationFacets;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.service.ApartmentSearchService;
+import com.community.ecommerce.apartmentservice.service.ApartmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ApartmentSearchController.class)
+public class ApartmentSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ApartmentSearchService apartmentSearchService;
+
+    @MockitoBean
+    private ApartmentService apartmentService;
+
+    @Test
+    void whenFullTextSearch_thenReturns200_andRankedPage() throws Exception {
+        // Arrange
+        ApartmentAddressDTO addressDTO = new ApartmentAddressDTO("Kanakapura Road", "", "Bengaluru", "Karnataka", "India", "560062");
+        ApartmentResponse response = new ApartmentResponse(1L, "Prestige Falcon City", addressDTO, List.of(), List.of("A"));
+        given(apartmentSearchService.searchApartments(eq("prestige bengaluru"), any(Pageable.class)))
+                .willReturn(new PageImpl<>(List.of(response), PageRequest.of(0, 20), 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/apartments/search/full-text").param("q", "prestige bengaluru"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.content[0].address.cityName").value("Bengaluru"));
+    }
+
+    @Test
+    void whenSuggest_thenReturns200_andCapsLimit() throws Exception {
+        // Arrange
+        given(apartmentSearchService.suggestApartments("pres", 20))
+                .willReturn(List.of(new ApartmentSuggestion(2L, "Prestige Lakeside Habitat")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/apartments/suggest").param("q", "pres").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2L))
+                .andExpect(jsonPath("$[0].apartmentName").value("Prestige Lakeside Habitat"));
+    }
+
+    @Test
+    void whenSearchByLocation_thenReturns200_withApartmentsAndFacets() throws Exception {
+        // Arrange
+        ApartmentAddressDTO addressDTO = new ApartmentAddressDTO("Kanakapura Road", "", "Bengaluru", "Karnataka", "India", "560062");
+        ApartmentResponse response = new ApartmentResponse(1L, "Prestige Falcon City", addressDTO, List.of(), List.of("A"));
+        given(apartmentService.searchApartmentResponsesByLocation(eq("Karnataka"), eq("Bengaluru"), eq(null), any(Pageable.class), eq(ApartmentField.ALL)))
+                .willReturn(new PageImpl<>(List.of(response), PageRequest.of(0, 20), 1));
+        given(apartmentSearchService.getLocationFacets("Karnataka", "Bengaluru")).willReturn(new LocationFacets(
+                List.of(new FacetCount("Karnataka", 4)),
+                List.of(new FacetCount("Bengaluru", 3)),
+                List.of(new FacetCount("560062", 2))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/apartments/locations").param("state", "Karnataka").param("city", "Bengaluru"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.apartments.content[0].id").value(1L))
+                .andExpect(jsonPath("$.facets.states[0].value").value("Karnataka"))
+                .andExpect(jsonPath("$.facets.zipcodes[0].count").value(2));
+    }
+
+    @Test
+    void whenRebuildIndex_thenReturns200_andIndexedCount() throws Exception {
+        // Arrange
+        given(apartmentSearchService.rebuildIndex()).willReturn(42);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/apartments/search/index/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.indexedApartments").value(42));
+    }
+}
@@ -0,0 +1,63 @@
+package com.community.ecommerce.apartmentservice.importer;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentContactDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApartmentImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ndjson_readsOneRequestPerLine_andReportsMalformedLines() {
+        String input = """
+                {"apartmentName":"Prestige Falcon City","apartmentAddress":{"addressLine1":"Kanakapura Road","cityName":"Bengaluru","stateName":"Karnataka","countryName":"India","zipCode":"560062"},"apartmentPointOfContacts":[{"name":"Ravi","emailAddress":"ravi@example.com","phoneNumber":"9876543210"}],"blockNames":["A","B"]}
+
+                {"apartmentName": oops}
+                """;
+
+        List<ApartmentImportRow> rows = readAll(ApartmentImportReader.open(new StringReader(input), ImportFormat.NDJSON, objectMapper));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).rowNumber()).isEqualTo(1);
+        assertThat(rows.get(0).request().apartmentName()).isEqualTo("Prestige Falcon City");
+        assertThat(rows.get(0).request().apartmentAddress().zipCode()).isEqualTo("560062");
+        assertThat(rows.get(0).request().blockNames()).containsExactly("A", "B");
+        assertThat(rows.get(1).rowNumber()).isEqualTo(3);
+        assertThat(rows.get(1).request()).isNull();
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void csv_mapsColumnsAndSplitsBlocksAndContacts() {
+        String input = """
+                apartmentName,addressLine1,addressLine2,city,state,country,zipcode,blockNames,contacts
+                Sobha Dream Acres,Panathur Road,,Bengaluru,Karnataka,India,560087,A | B | C,Ravi;ravi@example.com;9876543210|Asha;;9123456780
+                """;
+
+        List<ApartmentImportRow> rows = readAll(ApartmentImportReader.open(new StringReader(input), ImportFormat.CSV, objectMapper));
+
+        assertThat(rows).hasSize(1);
+        ApartmentImportRow row = rows.get(0);
+        assertThat(row.rowNumber()).isEqualTo(1);
+        assertThat(row.request().apartmentName()).isEqualTo("Sobha Dream Acres");
+        assertThat(row.request().apartmentAddress().cityName()).isEqualTo("Bengaluru");
+        assertThat(row.request().blockNames()).containsExactly("A", "B", "C");
+        assertThat(row.request().apartmentPointOfContacts()).containsExactly(
+                new ApartmentContactDTO("Ravi", "ravi@example.com", "9876543210"),
+                new ApartmentContactDTO("Asha", "", "9123456780"));
+    }
+
+    private static List<ApartmentImportRow> readAll(Iterator<ApartmentImportRow> rows) {
+        List<ApartmentImportRow> result = new ArrayList<>();
+        rows.forEachRemaining(result::add);
+        return result;
+    }
+}
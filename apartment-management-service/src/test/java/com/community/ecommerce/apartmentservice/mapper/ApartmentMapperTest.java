@@ -11,10 +11,12 @@ import com.community.ecommerce.apartmentservice.entity.ApartmentContacts;
 import com.community.ecommerce.apartmentservice.model.ApartmentBlocksDomain;
 import com.community.ecommerce.apartmentservice.model.ApartmentContactsDomain;
 import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -123,4 +125,27 @@ public class ApartmentMapperTest {
         assertThat(response.blockNames()).hasSize(1);
         assertThat(response.blockNames().get(0)).isEqualTo("Tower 5");
     }
+
+    @Test
+    void givenEntity_whenMapToResponseDirectly_thenMatchesTwoStepMapping() {
+        // Arrange
+        Apartment apartment = Apartment.builder()
+                .id(1L)
+                .apartmentName("Sobha Dream Gardens")
+                .address(new ApartmentAddress("Thanisandra Main Rd", null, "Bengaluru", "Karnataka", "India", "560077"))
+                .apartmentBlocks(List.of(ApartmentBlocks.builder().blockName("Wing 1").build(),
+                        ApartmentBlocks.builder().blockName("Wing 2").build()))
+                .apartmentContacts(List.of(ApartmentContacts.builder()
+                        .contactName("Ravi").contactEmail("ravi@example.com").contactPhoneNumber("9876543210").build()))
+                .build();
+
+        // Act
+        ApartmentResponse direct = apartmentMapper.toResponse(apartment);
+        ApartmentResponse sparse = apartmentMapper.toResponse(apartment, EnumSet.of(ApartmentField.ID, ApartmentField.BLOCK_NAMES));
+
+        // Assert
+        assertThat(direct).isEqualTo(apartmentMapper.toResponse(apartmentMapper.toDomain(apartment)));
+        assertThat(sparse).isEqualTo(new ApartmentResponse(1L, null, null, null, List.of("Wing 1", "Wing 2"),
+                EnumSet.of(ApartmentField.ID, ApartmentField.BLOCK_NAMES)));
+    }
 }
@@ -0,0 +1,86 @@
+package com.community.ecommerce.apartmentservice.search;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApartmentNameSuggesterTest {
+
+    private ApartmentNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ApartmentNameSuggester();
+        suggester.replaceAll(List.of(
+                new ApartmentNameSuggester.Entry(1L, "Prestige Falcon City", 12),
+                new ApartmentNameSuggester.Entry(2L, "Prestige Lakeside Habitat", 30),
+                new ApartmentNameSuggester.Entry(3L, "Presidency Towers", 2),
+                new ApartmentNameSuggester.Entry(4L, "Sobha Dream Acres", 20)));
+    }
+
+    @Test
+    void suggest_returnsPrefixMatchesRankedByWeight() {
+        List<ApartmentSuggestion> suggestions = suggester.suggest("pres", 10);
+
+        assertThat(suggestions).extracting(ApartmentSuggestion::id).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void suggest_ignoresCaseAccentsAndExtraWhitespace() {
+        assertThat(suggester.suggest("  PRÉSTIGE   falcon", 10))
+                .extracting(ApartmentSuggestion::apartmentName)
+                .containsExactly("Prestige Falcon City");
+    }
+
+    @Test
+    void suggest_limitsResults() {
+        assertThat(suggester.suggest("pre", 2)).extracting(ApartmentSuggestion::id).containsExactly(2L, 1L);
+        assertThat(suggester.suggest("pre", 0)).isEmpty();
+        assertThat(suggester.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void putAndRemove_keepSuggestionsInSync() {
+        suggester.put(new ApartmentNameSuggester.Entry(5L, "Prestige Shantiniketan", 50));
+        suggester.put(new ApartmentNameSuggester.Entry(1L, "Falcon Heights", 12));
+        suggester.remove(3L);
+        suggester.rebuildIfDirty();
+
+        assertThat(suggester.suggest("pres", 10)).extracting(ApartmentSuggestion::id).containsExactly(5L, 2L);
+        assertThat(suggester.suggest("falcon", 10)).extracting(ApartmentSuggestion::id).containsExactly(1L);
+        assertThat(suggester.size()).isEqualTo(4);
+    }
+
+    @Test
+    void suggest_returnsEveryApartmentSharingAName() {
+        suggester.put(new ApartmentNameSuggester.Entry(6L, "Sobha  Dream Acres", 5));
+        suggester.rebuildIfDirty();
+
+        assertThat(suggester.suggest("sobha", 10)).extracting(ApartmentSuggestion::id).containsExactly(4L, 6L);
+    }
+
+    @Test
+    void put_isDeferredToTheNextRebuild_whilePutAllAppliesAtOnce() {
+        suggester.put(new ApartmentNameSuggester.Entry(5L, "Prestige Shantiniketan", 50));
+        assertThat(suggester.suggest("prestige s", 10)).isEmpty();
+
+        suggester.putAll(List.of(new ApartmentNameSuggester.Entry(6L, "Sobha Silicon Oasis", 8)));
+        assertThat(suggester.suggest("prestige s", 10)).extracting(ApartmentSuggestion::id).containsExactly(5L);
+        assertThat(suggester.suggest("sobha s", 10)).extracting(ApartmentSuggestion::id).containsExactly(6L);
+
+        suggester.remove(5L);
+        suggester.rebuildIfDirty();
+        assertThat(suggester.suggest("prestige s", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_onEmptySuggester_returnsNothing() {
+        suggester.replaceAll(List.of());
+
+        assertThat(suggester.suggest("pres", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,182 @@
+package com.community.ecommerce.apartmentservice.search;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentAddressDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentContactDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ApartmentSearchIndexTest {
+
+    private ApartmentSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchIndex = new ApartmentSearchIndex(new ByteBuffersDirectory(), new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndex.close();
+    }
+
+    @Test
+    void search_matchesAcrossFieldsAndRanksNameMatchesFirst() {
+        searchIndex.index(apartment(1L, "Sobha Dream Acres", "Bengaluru", "560087", List.of("Prestige Wing")));
+        searchIndex.index(apartment(2L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A", "B")));
+        searchIndex.index(apartment(3L, "Brigade Meadows", "Mysuru", "570001", List.of("C")));
+        searchIndex.refresh();
+
+        Page<ApartmentResponse> results = searchIndex.search("prestige", PageRequest.of(0, 10));
+
+        assertThat(results.getContent()).extracting(ApartmentResponse::id).containsExactly(2L, 1L);
+        assertThat(results.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void search_requiresEveryTermAndReturnsStoredResponse() {
+        searchIndex.index(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")));
+        searchIndex.index(apartment(2L, "Prestige Lakeside", "Mysuru", "570001", List.of("A")));
+        searchIndex.refresh();
+
+        Page<ApartmentResponse> results = searchIndex.search("prestige 560062", PageRequest.of(0, 10));
+
+        assertThat(results.getContent()).hasSize(1);
+        ApartmentResponse found = results.getContent().get(0);
+        assertThat(found.apartmentName()).isEqualTo("Prestige Falcon City");
+        assertThat(found.address().cityName()).isEqualTo("Bengaluru");
+        assertThat(found.contacts()).extracting(ApartmentContactDTO::name).containsExactly("Priya");
+    }
+
+    @Test
+    void index_replacesExistingDocumentAndDeleteRemovesIt() {
+        searchIndex.index(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")));
+        searchIndex.index(apartment(1L, "Falcon Heights", "Bengaluru", "560062", List.of("A")));
+        searchIndex.refresh();
+
+        assertThat(searchIndex.search("prestige", PageRequest.of(0, 10))).isEmpty();
+        assertThat(searchIndex.search("falcon", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+
+        searchIndex.delete(1L);
+        searchIndex.refresh();
+
+        assertThat(searchIndex.search("falcon", PageRequest.of(0, 10))).isEmpty();
+        assertThat(searchIndex.isEmpty()).isTrue();
+    }
+
+    @Test
+    void search_pagesThroughRankedResults() {
+        for (long id = 1; id <= 5; id++) {
+            searchIndex.index(apartment(id, "Green Apartment " + id, "Pune", "411001", List.of("A")));
+        }
+        searchIndex.refresh();
+
+        Page<ApartmentResponse> secondPage = searchIndex.search("pune", PageRequest.of(1, 2));
+        Page<ApartmentResponse> pastEnd = searchIndex.search("pune", PageRequest.of(3, 2));
+
+        assertThat(secondPage.getContent()).hasSize(2);
+        assertThat(secondPage.getTotalElements()).isEqualTo(5);
+        assertThat(pastEnd.getContent()).isEmpty();
+        assertThat(pastEnd.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void rebuild_replacesAllDocuments() {
+        searchIndex.index(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")));
+
+        int indexed = searchIndex.rebuild(List.of(
+                apartment(2L, "Brigade Meadows", "Bengaluru", "560082", List.of("A")),
+                apartment(3L, "Sobha Dream Acres", "Bengaluru", "560087", List.of("B"))).iterator());
+
+        assertThat(indexed).isEqualTo(2);
+        assertThat(searchIndex.search("bengaluru", PageRequest.of(0, 10)).getContent())
+                .extracting(ApartmentResponse::id).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void rebuild_failingPartway_leavesTheLiveIndexUntouched() {
+        searchIndex.index(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")));
+        searchIndex.refresh();
+        Iterator<ApartmentResponse> failingScan = Stream.<Supplier<ApartmentResponse>>of(
+                        () -> apartment(2L, "Brigade Meadows", "Bengaluru", "560082", List.of("A")),
+                        () -> {
+                            throw new IllegalStateException("scroll failed");
+                        })
+                .map(Supplier::get)
+                .iterator();
+
+        assertThrows(IllegalStateException.class, () -> searchIndex.rebuild(failingScan));
+        searchIndex.refresh();
+        searchIndex.commit();
+
+        assertThat(searchIndex.search("bengaluru", PageRequest.of(0, 10)).getContent())
+                .extracting(ApartmentResponse::id).containsExactly(1L);
+    }
+
+    @Test
+    void rebuild_keepsUpdatesMadeWhileItScans() {
+        searchIndex.index(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")));
+        // The scan sees apartment 1 under its old name; the rename and a new apartment land mid-scan
+        Iterator<ApartmentResponse> scan = Stream.of(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")))
+                .peek(scanned -> {
+                    searchIndex.index(apartment(1L, "Falcon Heights", "Bengaluru", "560062", List.of("A")));
+                    searchIndex.index(apartment(2L, "Brigade Meadows", "Bengaluru", "560082", List.of("A")));
+                })
+                .iterator();
+
+        searchIndex.rebuild(scan);
+
+        assertThat(searchIndex.search("prestige", PageRequest.of(0, 10))).isEmpty();
+        assertThat(searchIndex.search("bengaluru", PageRequest.of(0, 10)).getContent())
+                .extracting(ApartmentResponse::id).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void index_isSearchableAfterRefresh_andDurableAfterCommit() throws IOException {
+        ByteBuffersDirectory directory = new ByteBuffersDirectory();
+        ApartmentSearchIndex index = new ApartmentSearchIndex(directory, new ObjectMapper());
+        try {
+            index.index(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")));
+            assertThat(index.search("prestige", PageRequest.of(0, 10))).isEmpty();
+
+            index.refresh();
+            assertThat(index.search("prestige", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+            assertThat(DirectoryReader.indexExists(directory)).isFalse();
+
+            index.commit();
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                assertThat(reader.numDocs()).isEqualTo(1);
+            }
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void search_withBlankQuery_returnsEmptyPage() {
+        searchIndex.index(apartment(1L, "Prestige Falcon City", "Bengaluru", "560062", List.of("A")));
+        searchIndex.refresh();
+
+        assertThat(searchIndex.search(" ", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    private static ApartmentResponse apartment(Long id, String name, String city, String zipCode, List<String> blocks) {
+        ApartmentAddressDTO address = new ApartmentAddressDTO("Main Road", "", city, "Karnataka", "India", zipCode);
+        return new ApartmentResponse(id, name, address, List.of(new ApartmentContactDTO("Priya", "p@p.com", "123")), blocks);
+    }
+}
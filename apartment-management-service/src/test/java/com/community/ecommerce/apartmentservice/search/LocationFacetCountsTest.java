@@ -0,0 +1,69 @@
+package com.community.ecommerce.apartmentservice.search;
+
+import com.community.ecommerce.apartmentservice.dto.FacetCount;
+import com.community.ecommerce.apartmentservice.dto.LocationFacets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocationFacetCountsTest {
+
+    private LocationFacetCounts facetCounts;
+
+    @BeforeEach
+    void setUp() {
+        facetCounts = new LocationFacetCounts();
+        facetCounts.replaceAll(Map.of(
+                1L, new LocationFacetCounts.Location("Karnataka", "Bengaluru", "560062"),
+                2L, new LocationFacetCounts.Location("Karnataka", "Bengaluru", "560087"),
+                3L, new LocationFacetCounts.Location("Karnataka", "Bengaluru", "560062"),
+                4L, new LocationFacetCounts.Location("Karnataka", "Mysuru", "570001"),
+                5L, new LocationFacetCounts.Location("Maharashtra", "Pune", "411001")));
+    }
+
+    @Test
+    void facets_withoutFilters_countEveryLevel() {
+        LocationFacets facets = facetCounts.facets(null, null);
+
+        assertThat(facets.states()).containsExactly(
+                new FacetCount("Karnataka", 4), new FacetCount("Maharashtra", 1));
+        assertThat(facets.cities()).containsExactly(
+                new FacetCount("Bengaluru", 3), new FacetCount("Mysuru", 1), new FacetCount("Pune", 1));
+        assertThat(facets.zipcodes()).hasSize(4).first().isEqualTo(new FacetCount("560062", 2));
+    }
+
+    @Test
+    void facets_drillDownIntoSelectedStateAndCity() {
+        LocationFacets facets = facetCounts.facets("Karnataka", "Bengaluru");
+
+        assertThat(facets.states()).hasSize(2);
+        assertThat(facets.cities()).containsExactly(new FacetCount("Bengaluru", 3), new FacetCount("Mysuru", 1));
+        assertThat(facets.zipcodes()).containsExactly(new FacetCount("560062", 2), new FacetCount("560087", 1));
+    }
+
+    @Test
+    void put_movesAnApartmentBetweenLocations() {
+        facetCounts.put(4L, new LocationFacetCounts.Location("Maharashtra", "Pune", "411001"));
+        facetCounts.put(6L, new LocationFacetCounts.Location("Maharashtra", "Mumbai", "400001"));
+
+        LocationFacets facets = facetCounts.facets("Maharashtra", null);
+
+        assertThat(facets.states()).containsExactly(
+                new FacetCount("Karnataka", 3), new FacetCount("Maharashtra", 3));
+        assertThat(facets.cities()).containsExactly(new FacetCount("Pune", 2), new FacetCount("Mumbai", 1));
+        assertThat(facetCounts.facets("Karnataka", null).cities()).containsExactly(new FacetCount("Bengaluru", 3));
+    }
+
+    @Test
+    void remove_dropsEmptyBranches() {
+        facetCounts.remove(5L);
+        facetCounts.remove(99L);
+
+        assertThat(facetCounts.facets(null, null).states()).containsExactly(new FacetCount("Karnataka", 4));
+        assertThat(facetCounts.facets("Maharashtra", null).cities()).isEmpty();
+        assertThat(facetCounts.size()).isEqualTo(4);
+    }
+}
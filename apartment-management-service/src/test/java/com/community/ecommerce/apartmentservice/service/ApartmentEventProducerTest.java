@@ -0,0 +1,121 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.entity.ApartmentAddress;
+import com.community.ecommerce.apartmentservice.entity.ApartmentOutboxEvent;
+import com.community.ecommerce.apartmentservice.event.ApartmentChangedEvent;
+import com.community.ecommerce.apartmentservice.event.ApartmentsImportedEvent;
+import com.community.ecommerce.apartmentservice.model.ApartmentBlocksDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentContactsDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxJdbcRepository;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxRepository;
+import com.community.ecommerce.common.events.ApartmentCreatedEvent;
+import com.community.ecommerce.common.events.ApartmentDeletedEvent;
+import com.community.ecommerce.common.events.ApartmentUpdatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ApartmentEventProducerTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Mock
+    private ApartmentOutboxRepository apartmentOutboxRepository;
+
+    @Mock
+    private ApartmentOutboxJdbcRepository apartmentOutboxJdbcRepository;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private ApartmentEventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        producer = new ApartmentEventProducer(apartmentOutboxRepository, apartmentOutboxJdbcRepository, objectMapper, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void onApartmentChanged_whenCreated_queuesCompactCreatedEventForApartment() throws Exception {
+        producer.onApartmentChanged(ApartmentChangedEvent.created(apartment(1L)));
+
+        ApartmentOutboxEvent queued = savedEvent();
+        assertThat(queued.getApartmentId()).isEqualTo(1L);
+        assertThat(queued.getEventType()).isEqualTo("ApartmentCreatedEvent");
+        assertThat(queued.getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 6, 1, 0, 0));
+        assertThat(queued.getNextAttemptAt()).isEqualTo(queued.getCreatedAt());
+        assertThat(objectMapper.readValue(queued.getPayload(), ApartmentCreatedEvent.class))
+                .isEqualTo(new ApartmentCreatedEvent(1L, "Prestige Falcon City", "Bengaluru", "Karnataka", "560062",
+                        List.of("A", "B"), List.of("manager@example.com"), 0L, NOW));
+    }
+
+    @Test
+    void onApartmentChanged_whenUpdated_queuesUpdatedEvent() throws Exception {
+        producer.onApartmentChanged(ApartmentChangedEvent.updated(apartment(1L)));
+
+        ApartmentOutboxEvent queued = savedEvent();
+        assertThat(queued.getEventType()).isEqualTo("ApartmentUpdatedEvent");
+        assertThat(objectMapper.readValue(queued.getPayload(), ApartmentUpdatedEvent.class).apartmentId()).isEqualTo(1L);
+    }
+
+    @Test
+    void onApartmentChanged_whenDeleted_queuesDeletedEvent() throws Exception {
+        producer.onApartmentChanged(ApartmentChangedEvent.deleted(7L));
+
+        ApartmentOutboxEvent queued = savedEvent();
+        assertThat(queued.getApartmentId()).isEqualTo(7L);
+        assertThat(objectMapper.readValue(queued.getPayload(), ApartmentDeletedEvent.class))
+                .isEqualTo(new ApartmentDeletedEvent(7L, NOW));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onApartmentsImported_queuesCreatedEventPerApartment() {
+        producer.onApartmentsImported(new ApartmentsImportedEvent(List.of(apartment(1L), apartment(2L))));
+
+        ArgumentCaptor<List<ApartmentOutboxEvent>> queued = ArgumentCaptor.forClass(List.class);
+        verify(apartmentOutboxJdbcRepository).insertAll(queued.capture());
+        assertThat(queued.getValue())
+                .extracting(ApartmentOutboxEvent::getApartmentId, ApartmentOutboxEvent::getEventType)
+                .containsExactly(
+                        tuple(1L, "ApartmentCreatedEvent"),
+                        tuple(2L, "ApartmentCreatedEvent"));
+    }
+
+    private ApartmentOutboxEvent savedEvent() {
+        ArgumentCaptor<ApartmentOutboxEvent> captor = ArgumentCaptor.forClass(ApartmentOutboxEvent.class);
+        verify(apartmentOutboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ApartmentDomain apartment(Long id) {
+        return ApartmentDomain.builder()
+                .id(id)
+                .apartmentName("Prestige Falcon City")
+                .apartmentAddress(new ApartmentAddress("Kanakapura Road", "", "Bengaluru", "Karnataka", "India", "560062"))
+                .apartmentBlocksDomainList(List.of(
+                        ApartmentBlocksDomain.builder().blockName("A").build(),
+                        ApartmentBlocksDomain.builder().blockName("B").build()))
+                .apartmentContactsDomainList(List.of(
+                        ApartmentContactsDomain.builder().contactName("Manager").contactEmail("manager@example.com").build(),
+                        ApartmentContactsDomain.builder().contactName("Security").build()))
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.entity.ApartmentOutboxEvent;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxRepository;
+import com.community.ecommerce.common.events.ApartmentDeletedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApartmentOutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+    private static final LocalDateTime NOW_UTC = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private ApartmentOutboxRepository apartmentOutboxRepository;
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void relay_publishesAndDeletesAckedEvents() throws Exception {
+        ApartmentOutboxEvent event = deletedEvent(1L, 7L);
+        when(apartmentOutboxRepository.lockOldest(Limit.of(100))).thenReturn(List.of(event));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(relayAt(NOW).relay()).isEqualTo(1);
+
+        verify(kafkaTemplate).send("apartment-events", "7", new ApartmentDeletedEvent(7L, NOW));
+        verify(apartmentOutboxRepository).deleteAllInBatch(List.of(event));
+    }
+
+    @Test
+    void relay_failedSend_isRetriedWithBackoff() throws Exception {
+        ApartmentOutboxEvent event = deletedEvent(1L, 7L);
+        when(apartmentOutboxRepository.lockOldest(Limit.of(100))).thenReturn(List.of(event));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker unavailable")))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(relayAt(NOW).relay()).isZero();
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getNextAttemptAt()).isEqualTo(NOW_UTC.plusSeconds(1));
+        assertThat(event.getLastError()).contains("broker unavailable");
+
+        // Not due yet: nothing is sent
+        assertThat(relayAt(NOW.plusMillis(500)).relay()).isZero();
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any());
+
+        assertThat(relayAt(NOW.plusSeconds(1)).relay()).isZero();
+        assertThat(event.getAttempts()).isEqualTo(2);
+        assertThat(event.getNextAttemptAt()).isEqualTo(NOW_UTC.plusSeconds(3));
+
+        assertThat(relayAt(NOW.plusSeconds(3)).relay()).isEqualTo(1);
+        verify(kafkaTemplate, times(3)).send("apartment-events", "7", new ApartmentDeletedEvent(7L, NOW));
+        verify(apartmentOutboxRepository).deleteAllInBatch(List.of(event));
+    }
+
+    @Test
+    void relay_eventWaitingForRetry_holdsBackLaterEventsOfTheSameApartmentOnly() throws Exception {
+        ApartmentOutboxEvent waiting = deletedEvent(1L, 7L);
+        waiting.setAttempts(1);
+        waiting.setNextAttemptAt(NOW_UTC.plusSeconds(30));
+        ApartmentOutboxEvent sameApartment = deletedEvent(2L, 7L);
+        ApartmentOutboxEvent otherApartment = deletedEvent(3L, 8L);
+        when(apartmentOutboxRepository.lockOldest(Limit.of(100))).thenReturn(List.of(waiting, sameApartment, otherApartment));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(relayAt(NOW).relay()).isEqualTo(1);
+
+        verify(kafkaTemplate).send(eq("apartment-events"), eq("8"), any());
+        verifyNoMoreInteractions(kafkaTemplate);
+        verify(apartmentOutboxRepository).deleteAllInBatch(List.of(otherApartment));
+    }
+
+    @Test
+    void relay_sendsTheWholeBatchBeforeWaitingForAcks() throws Exception {
+        ApartmentOutboxEvent first = deletedEvent(1L, 7L);
+        ApartmentOutboxEvent second = deletedEvent(2L, 8L);
+        when(apartmentOutboxRepository.lockOldest(Limit.of(100))).thenReturn(List.of(first, second));
+        // The first ack only arrives once the second event has been sent
+        CompletableFuture<SendResult<String, Object>> firstAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), eq("7"), any())).thenReturn(firstAck);
+        when(kafkaTemplate.send(anyString(), eq("8"), any())).thenAnswer(invocation -> {
+            firstAck.complete(null);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertThat(relayAt(NOW).relay()).isEqualTo(2);
+
+        verify(apartmentOutboxRepository).deleteAllInBatch(List.of(first, second));
+    }
+
+    @Test
+    void relay_sendsOneEventPerApartmentAtATime_andDrainsWhileBatchesAreFull() throws Exception {
+        ApartmentOutboxEvent earlier = deletedEvent(1L, 7L);
+        ApartmentOutboxEvent later = deletedEvent(2L, 7L);
+        when(apartmentOutboxRepository.lockOldest(Limit.of(2)))
+                .thenReturn(List.of(earlier, later))
+                .thenReturn(List.of(later));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(relayAt(NOW, 2).relay()).isEqualTo(2);
+
+        InOrder inOrder = inOrder(apartmentOutboxRepository);
+        inOrder.verify(apartmentOutboxRepository).deleteAllInBatch(List.of(earlier));
+        inOrder.verify(apartmentOutboxRepository).deleteAllInBatch(List.of(later));
+        verify(apartmentOutboxRepository, times(2)).lockOldest(Limit.of(2));
+    }
+
+    private ApartmentOutboxRelay relayAt(Instant now) {
+        return relayAt(now, 100);
+    }
+
+    private ApartmentOutboxRelay relayAt(Instant now, int batchSize) {
+        return new ApartmentOutboxRelay(apartmentOutboxRepository, kafkaTemplate, objectMapper,
+                TransactionOperations.withoutTransaction(), Clock.fixed(now, ZoneOffset.UTC), "apartment-events",
+                batchSize, Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofMinutes(5));
+    }
+
+    private ApartmentOutboxEvent deletedEvent(Long id, Long apartmentId) throws Exception {
+        return ApartmentOutboxEvent.builder()
+                .id(id)
+                .apartmentId(apartmentId)
+                .eventType("ApartmentDeletedEvent")
+                .payload(objectMapper.writeValueAsString(new ApartmentDeletedEvent(apartmentId, NOW)))
+                .createdAt(NOW_UTC)
+                .nextAttemptAt(NOW_UTC)
+                .build();
+    }
+}
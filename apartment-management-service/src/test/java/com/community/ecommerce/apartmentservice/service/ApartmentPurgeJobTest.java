@@ -0,0 +1,57 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.apartmentservice.repository.ApartmentPurgeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApartmentPurgeJobTest {
+
+    @Mock
+    private ApartmentPurgeRepository apartmentPurgeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @Test
+    void purge_runsBatchesUntilPartialBatch_usingGracePeriodCutoff() {
+        when(apartmentPurgeRepository.purgeBatch(any(), anyInt())).thenReturn(50, 50, 7);
+        ApartmentPurgeJob job = new ApartmentPurgeJob(apartmentPurgeRepository, meterRegistry, clock, Duration.ofHours(1), 50, 10, 0);
+
+        int purged = job.purge();
+
+        assertThat(purged).isEqualTo(107);
+        verify(apartmentPurgeRepository, times(3)).purgeBatch(LocalDateTime.parse("2024-06-01T11:00:00"), 50);
+        assertThat(meterRegistry.get("apartments.purge.purged").counter().count()).isEqualTo(107);
+    }
+
+    @Test
+    void purge_stopsAtMaxBatchesPerRun() {
+        when(apartmentPurgeRepository.purgeBatch(any(), anyInt())).thenReturn(50);
+        ApartmentPurgeJob job = new ApartmentPurgeJob(apartmentPurgeRepository, meterRegistry, clock, Duration.ofHours(1), 50, 3, 0);
+
+        assertThat(job.purge()).isEqualTo(150);
+        verify(apartmentPurgeRepository, times(3)).purgeBatch(any(), anyInt());
+    }
+}
@@ -0,0 +1,49 @@
+package com.community.ecommerce.apartmentservice.service;
+
+import com.community.ecommerce.common.events.ApartmentDeletedEvent;
+import com.community.ecommerce.common.events.ApartmentUpdatedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApartmentSearchEventListenerTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Mock
+    private ApartmentSearchService apartmentSearchService;
+
+    private ApartmentSearchEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new ApartmentSearchEventListener(apartmentSearchService);
+    }
+
+    @Test
+    void updatedApartmentIsReindexed() {
+        listener.onApartmentEvent(new ConsumerRecord<>("apartment-events", 0, 0L, "7",
+                new ApartmentUpdatedEvent(7L, "Falcon Heights", "Bengaluru", "Karnataka", "560062",
+                        List.of("A"), List.of(), 2L, NOW)));
+
+        verify(apartmentSearchService).reindexApartment(7L);
+        verifyNoMoreInteractions(apartmentSearchService);
+    }
+
+    @Test
+    void deletedApartmentIsRemoved() {
+        listener.onApartmentEvent(new ConsumerRecord<>("apartment-events", 0, 0L, "7", new ApartmentDeletedEvent(7L, NOW)));
+
+        verify(apartmentSearchService).removeApartment(7L);
+        verifyNoMoreInteractions(apartmentSearchService);
+    }
+}
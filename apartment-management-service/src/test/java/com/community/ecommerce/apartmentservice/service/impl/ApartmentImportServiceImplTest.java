@@ -0,0 +1,101 @@
+package com.community.ecommerce.apartmentservice.service.impl;
+
+import com.community.ecommerce.apartmentservice.config.MapperConfig;
+import com.community.ecommerce.apartmentservice.dto.ApartmentImportEvent;
+import com.community.ecommerce.apartmentservice.entity.ApartmentOutboxEvent;
+import com.community.ecommerce.apartmentservice.event.ApartmentsImportedEvent;
+import com.community.ecommerce.apartmentservice.importer.ImportFormat;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxJdbcRepository;
+import com.community.ecommerce.apartmentservice.repository.ApartmentOutboxRepository;
+import com.community.ecommerce.apartmentservice.repository.ApartmentRepository;
+import com.community.ecommerce.apartmentservice.service.ApartmentEventProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.import.chunk-size=2"
+})
+@Import({ApartmentImportServiceImpl.class, ApartmentEventProducer.class, ApartmentOutboxJdbcRepository.class, MapperConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@RecordApplicationEvents
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ApartmentImportServiceImplTest {
+
+    @Autowired
+    private ApartmentImportServiceImpl apartmentImportService;
+
+    @Autowired
+    private ApartmentRepository apartmentRepository;
+
+    @Autowired
+    private ApartmentOutboxRepository apartmentOutboxRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @AfterEach
+    void cleanUp() {
+        apartmentRepository.deleteAll();
+        apartmentOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void importApartments_commitsInChunks_andReportsInvalidRows() {
+        String input = """
+                apartmentName,addressLine1,addressLine2,city,state,country,zipcode,blockNames,contacts
+                Prestige Falcon City,Kanakapura Road,,Bengaluru,Karnataka,India,560062,A|B,Ravi;ravi@example.com;9876543210
+                Sobha Dream Acres,Panathur Road,,Bengaluru,Karnataka,India,560087,A,Asha;asha@example.com;9123456780
+                ,Missing Name Road,,Bengaluru,Karnataka,India,560001,A,Asha;asha@example.com;9123456780
+                Brigade Meadows,Kanakapura Road,,Bengaluru,Karnataka,India,,A|B|C,Kiran;kiran@example.com;9012345678
+                Godrej Woods,Sector 43,,Noida,Uttar Pradesh,India,201303,T1,Meera;meera@example.com;9988776655
+                """;
+        List<ApartmentImportEvent> events = new ArrayList<>();
+
+        ApartmentImportEvent summary = apartmentImportService.importApartments(new StringReader(input), ImportFormat.CSV, events::add);
+
+        assertThat(summary.processed()).isEqualTo(5);
+        assertThat(summary.imported()).isEqualTo(3);
+        assertThat(summary.failed()).isEqualTo(2);
+        assertThat(events).filteredOn(event -> "error".equals(event.type()))
+                .extracting(ApartmentImportEvent::row)
+                .containsExactly(3L, 4L);
+        assertThat(events).filteredOn(event -> "progress".equals(event.type())).hasSize(2);
+        assertThat(events.get(events.size() - 1)).isEqualTo(summary);
+
+        assertThat(apartmentRepository.count()).isEqualTo(3);
+        assertThat(applicationEvents.stream(ApartmentsImportedEvent.class)
+                .mapToInt(event -> event.apartments().size())
+                .sum()).isEqualTo(3);
+        assertThat(applicationEvents.stream(ApartmentsImportedEvent.class)
+                .flatMap(event -> event.apartments().stream())
+                .filter(apartment -> apartment.getApartmentName().equals("Prestige Falcon City")))
+                .singleElement()
+                .satisfies(apartment -> {
+                    assertThat(apartment.getId()).isNotNull();
+                    assertThat(apartment.getApartmentBlocksDomainList()).hasSize(2);
+                });
+        // One outbox row per committed apartment; the rolled-back chunk left none behind
+        assertThat(apartmentOutboxRepository.findAll())
+                .extracting(ApartmentOutboxEvent::getEventType)
+                .containsOnly("ApartmentCreatedEvent")
+                .hasSize(3);
+    }
+}
@@ -0,0 +1,85 @@
+package com.community.ecommerce.apartmentservice.service.impl;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentAddressDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentScrollResponse;
+import com.community.ecommerce.apartmentservice.dto.FacetCount;
+import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.model.ApartmentSortKey;
+import com.community.ecommerce.apartmentservice.search.ApartmentNameSuggester;
+import com.community.ecommerce.apartmentservice.search.ApartmentSearchIndex;
+import com.community.ecommerce.apartmentservice.search.LocationFacetCounts;
+import com.community.ecommerce.apartmentservice.service.ApartmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApartmentSearchServiceImplTest {
+
+    @Mock
+    private ApartmentService apartmentService;
+
+    @Mock
+    private ApartmentMapper apartmentMapper;
+
+    private ApartmentSearchIndex searchIndex;
+    private ApartmentNameSuggester nameSuggester;
+    private LocationFacetCounts facetCounts;
+    private ApartmentSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchIndex = new ApartmentSearchIndex("", new ObjectMapper());
+        nameSuggester = new ApartmentNameSuggester();
+        facetCounts = new LocationFacetCounts();
+        searchService = new ApartmentSearchServiceImpl(searchIndex, nameSuggester, facetCounts, apartmentService, apartmentMapper);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndex.close();
+    }
+
+    @Test
+    void rebuildIndex_keepsChangesMadeWhileItScans() {
+        // Apartment 2 is deleted after the scan has read it, but before the rebuilt snapshots are swapped in
+        when(apartmentService.scrollApartmentResponses(isNull(), anyInt(), eq(ApartmentSortKey.ID), eq(ApartmentField.ALL)))
+                .thenAnswer(invocation -> {
+                    ApartmentScrollResponse batch = new ApartmentScrollResponse(List.of(
+                            apartment(1L, "Prestige Falcon City", "Bengaluru"),
+                            apartment(2L, "Prestige Lakeside", "Mysuru")), null);
+                    searchService.removeApartment(2L);
+                    return batch;
+                });
+
+        int indexed = searchService.rebuildIndex();
+
+        assertThat(indexed).isEqualTo(2);
+        assertThat(searchService.searchApartments("prestige", PageRequest.of(0, 10)).getContent())
+                .extracting(ApartmentResponse::id).containsExactly(1L);
+        assertThat(searchService.suggestApartments("prestige", 10)).hasSize(1);
+        assertThat(searchService.getLocationFacets(null, null).cities())
+                .extracting(FacetCount::value).containsExactly("Bengaluru");
+        verify(apartmentService).scrollApartmentResponses(any(), anyInt(), any(), any());
+    }
+
+    private static ApartmentResponse apartment(Long id, String name, String city) {
+        return new ApartmentResponse(id, name, new ApartmentAddressDTO("Main Road", "", city, "Karnataka", "India", "560062"),
+                List.of(), List.of("A"));
+    }
+}
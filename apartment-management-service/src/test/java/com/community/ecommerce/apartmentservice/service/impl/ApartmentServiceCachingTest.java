@@ -0,0 +1,94 @@
+package com.community.ecommerce.apartmentservice.service.impl;
+
+import com.community.ecommerce.apartmentservice.config.CacheConfig;
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.repository.ApartmentRepository;
+import com.community.ecommerce.apartmentservice.service.ApartmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+public class ApartmentServiceCachingTest {
+
+    @Configuration
+    @Import({CacheConfig.class, ApartmentServiceImpl.class})
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.APARTMENTS_CACHE);
+        }
+    }
+
+    @MockitoBean
+    private ApartmentRepository apartmentRepository;
+
+    @MockitoBean
+    private ApartmentMapper apartmentMapper;
+
+    @MockitoBean
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ApartmentService apartmentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Apartment apartment = Apartment.builder().id(1L).apartmentName("Prestige Falcon City").build();
+    private final ApartmentDomain apartmentDomain = ApartmentDomain.builder().id(1L).apartmentName("Prestige Falcon City").build();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.APARTMENTS_CACHE).clear();
+        when(apartmentRepository.findById(1L)).thenReturn(Optional.of(apartment));
+        when(apartmentMapper.toDomain(any(Apartment.class))).thenReturn(apartmentDomain);
+    }
+
+    @Test
+    void getApartmentById_readsThroughCache() {
+        assertThat(apartmentService.getApartmentById(1L)).isSameAs(apartmentDomain);
+        assertThat(apartmentService.getApartmentById(1L)).isSameAs(apartmentDomain);
+
+        verify(apartmentRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateApartment_evictsCachedApartment() {
+        when(apartmentRepository.saveAndFlush(apartment)).thenReturn(apartment);
+        apartmentService.getApartmentById(1L);
+
+        apartmentService.updateApartment(1L, apartmentDomain);
+        apartmentService.getApartmentById(1L);
+
+        // One read before the update, one inside it and one after the eviction
+        verify(apartmentRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    void deleteApartment_evictsCachedApartment() {
+        when(apartmentRepository.softDeleteById(eq(1L), any())).thenReturn(1);
+        apartmentService.getApartmentById(1L);
+
+        apartmentService.deleteApartment(1L);
+
+        assertThat(cacheManager.getCache(CacheConfig.APARTMENTS_CACHE).get(1L)).isNull();
+    }
+}
@@ -0,0 +1,294 @@
+package com.community.ecommerce.apartmentservice.service.impl;
+
+import com.community.ecommerce.apartmentservice.config.MapperConfig;
+import com.community.ecommerce.apartmentservice.dto.ApartmentContactDTO;
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.dto.ApartmentScrollResponse;
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.entity.ApartmentAddress;
+import com.community.ecommerce.apartmentservice.entity.ApartmentBlocks;
+import com.community.ecommerce.apartmentservice.entity.ApartmentContacts;
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import com.community.ecommerce.apartmentservice.exception.InvalidRequestException;
+import com.community.ecommerce.apartmentservice.exception.ResourceNotFoundException;
+import com.community.ecommerce.apartmentservice.model.ApartmentField;
+import com.community.ecommerce.apartmentservice.model.ApartmentSortKey;
+import com.community.ecommerce.apartmentservice.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.community.ecommerce.apartmentservice.support.SqlStatementCounter",
+        "spring.jpa.show-sql=false"
+})
+@Import({ApartmentServiceImpl.class, MapperConfig.class})
+public class ApartmentServiceFetchPlanTest {
+
+    // One count query, one id page query, one query per collection
+    private static final int LISTING_STATEMENTS = 4;
+
+    @Autowired
+    private ApartmentServiceImpl apartmentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void getAllApartments_statementCountDoesNotGrowWithPageSize() {
+        persistApartments("Prestige", 25);
+
+        assertThat(listingStatements(5)).isEqualTo(LISTING_STATEMENTS);
+        assertThat(listingStatements(20)).isEqualTo(LISTING_STATEMENTS);
+    }
+
+    @Test
+    void getAllApartments_keepsPageOrderAndLoadsCollections() {
+        persistApartments("Prestige", 3);
+        entityManager.clear();
+
+        Page<ApartmentDomain> page = apartmentService.getAllApartments(
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "apartmentName")));
+
+        assertThat(page.getContent()).extracting(ApartmentDomain::getApartmentName)
+                .containsExactly("Prestige 2", "Prestige 1", "Prestige 0");
+        assertThat(page.getContent()).allSatisfy(apartment -> {
+            assertThat(apartment.getApartmentBlocksDomainList()).hasSize(2);
+            assertThat(apartment.getApartmentContactsDomainList()).hasSize(2);
+        });
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void searchApartmentsByName_statementCountDoesNotGrowWithPageSize() {
+        persistApartments("Prestige", 25);
+        persistApartments("Sobha", 5);
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+        Page<ApartmentDomain> page = apartmentService.searchApartmentsByName("prest", PageRequest.of(0, 20));
+
+        SqlStatementCounter.assertStatementCount(LISTING_STATEMENTS);
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getTotalElements()).isEqualTo(25);
+    }
+
+    @Test
+    void searchApartmentsByLocation_filtersOnGivenFieldsWithFixedStatementCount() {
+        persistApartments("Prestige", 12);
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+        Page<ApartmentDomain> byState = apartmentService.searchApartmentsByLocation("Karnataka", null, null, PageRequest.of(0, 10));
+        SqlStatementCounter.assertStatementCount(LISTING_STATEMENTS);
+
+        assertThat(byState.getContent()).hasSize(10);
+        assertThat(byState.getTotalElements()).isEqualTo(12);
+        assertThat(apartmentService.searchApartmentsByLocation("Karnataka", "Bengaluru", "999999", PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    @Test
+    void searchApartmentsByName_withNoMatches_skipsCollectionQueries() {
+        persistApartments("Prestige", 3);
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+        Page<ApartmentDomain> page = apartmentService.searchApartmentsByName("Sobha", PageRequest.of(0, 20));
+
+        SqlStatementCounter.assertStatementCount(1);
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    @Test
+    void searchApartmentsByName_treatsWildcardsInTheNameLiterally() {
+        persistApartments("Prestige 100%", 1);
+        persistApartments("Prestige 1000", 1);
+        entityManager.clear();
+
+        Page<ApartmentDomain> page = apartmentService.searchApartmentsByName("100%", PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).extracting(ApartmentDomain::getApartmentName).containsExactly("Prestige 100% 0");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(apartmentService.searchApartmentsByName("Prestige_", PageRequest.of(0, 20))).isEmpty();
+    }
+
+    @Test
+    void getApartmentResponses_withFieldSelection_onlyLoadsRequestedCollections() {
+        persistApartments("Prestige", 5);
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+        Page<ApartmentResponse> page = apartmentService.getApartmentResponses(PageRequest.of(0, 5),
+                EnumSet.of(ApartmentField.ID, ApartmentField.BLOCK_NAMES));
+
+        // One count query, one id page query and the blocks query; contacts are never read
+        SqlStatementCounter.assertStatementCount(3);
+        assertThat(page.getContent()).allSatisfy(apartment -> {
+            assertThat(apartment.blockNames()).containsExactly("A", "B");
+            assertThat(apartment.contacts()).isNull();
+            assertThat(apartment.address()).isNull();
+        });
+    }
+
+    @Test
+    void getApartmentResponses_mapsEntitiesStraightToResponses() {
+        persistApartments("Prestige", 2);
+        entityManager.clear();
+
+        Page<ApartmentResponse> page = apartmentService.getApartmentResponses(
+                PageRequest.of(0, 2, Sort.by("apartmentName")), ApartmentField.ALL);
+
+        assertThat(page.getContent()).extracting(ApartmentResponse::apartmentName).containsExactly("Prestige 0", "Prestige 1");
+        assertThat(page.getContent().get(0).address().cityName()).isEqualTo("Bengaluru");
+        assertThat(page.getContent().get(0).contacts()).extracting(ApartmentContactDTO::name).containsExactlyInAnyOrder("Manager", "Security");
+    }
+
+    @Test
+    void scrollApartmentResponses_visitsEveryApartmentOnce_whileApartmentsAreInserted() {
+        persistApartments("Prestige", 7);
+        entityManager.clear();
+
+        List<String> seen = new ArrayList<>();
+        ApartmentScrollResponse page = apartmentService.scrollApartmentResponses(null, 3, ApartmentSortKey.ID, ApartmentField.ALL);
+        page.content().forEach(apartment -> seen.add(apartment.apartmentName()));
+        // Lands after the cursor, so it shows up later without shifting the remaining pages
+        persistApartments("Sobha", 1);
+        entityManager.clear();
+        while (page.nextCursor() != null) {
+            SqlStatementCounter.reset();
+            page = apartmentService.scrollApartmentResponses(page.nextCursor(), 3, ApartmentSortKey.ID, ApartmentField.ALL);
+            // The page query and one query per collection, with no count and no OFFSET
+            SqlStatementCounter.assertStatementCount(3);
+            page.content().forEach(apartment -> seen.add(apartment.apartmentName()));
+            entityManager.clear();
+        }
+
+        assertThat(seen).hasSize(8).doesNotHaveDuplicates().contains("Sobha 0");
+        assertThat(page.content()).allSatisfy(apartment -> assertThat(apartment.blockNames()).containsExactly("A", "B"));
+    }
+
+    @Test
+    void scrollApartmentResponsesByName_byApartmentName_continuesAcrossEqualNames() {
+        persistApartments("Prestige", 2);
+        persistApartments("Prestige", 2);
+        persistApartments("Sobha", 2);
+        entityManager.clear();
+        Set<ApartmentField> fields = EnumSet.of(ApartmentField.ID, ApartmentField.APARTMENT_NAME);
+
+        ApartmentScrollResponse first = apartmentService.scrollApartmentResponsesByName("prest", null, 3,
+                ApartmentSortKey.APARTMENT_NAME, fields);
+        ApartmentScrollResponse second = apartmentService.scrollApartmentResponsesByName("prest", first.nextCursor(), 3,
+                ApartmentSortKey.APARTMENT_NAME, fields);
+
+        assertThat(first.content()).extracting(ApartmentResponse::apartmentName)
+                .containsExactly("Prestige 0", "Prestige 0", "Prestige 1");
+        assertThat(second.content()).extracting(ApartmentResponse::apartmentName).containsExactly("Prestige 1");
+        assertThat(second.nextCursor()).isNull();
+        assertThat(first.content().get(0).id()).isLessThan(first.content().get(1).id());
+        assertThat(second.content().get(0).id()).isNotEqualTo(first.content().get(2).id());
+    }
+
+    @Test
+    void scrollApartmentResponsesByName_treatsWildcardsInTheNameLiterally() {
+        persistApartments("Prestige 100%", 1);
+        persistApartments("Prestige 1000", 1);
+        entityManager.clear();
+
+        ApartmentScrollResponse page = apartmentService.scrollApartmentResponsesByName("100%", null, 20,
+                ApartmentSortKey.ID, ApartmentField.ALL);
+
+        assertThat(page.content()).extracting(ApartmentResponse::apartmentName).containsExactly("Prestige 100% 0");
+        assertThat(apartmentService.scrollApartmentResponsesByName("Prestige_", null, 20, ApartmentSortKey.ID,
+                ApartmentField.ALL).content()).isEmpty();
+    }
+
+    @Test
+    void scrollApartmentResponses_withCursorFromAnotherSort_isRejected() {
+        persistApartments("Prestige", 3);
+        String idCursor = apartmentService.scrollApartmentResponses(null, 1, ApartmentSortKey.ID, ApartmentField.ALL).nextCursor();
+
+        assertThatThrownBy(() -> apartmentService.scrollApartmentResponses(idCursor, 1, ApartmentSortKey.APARTMENT_NAME, ApartmentField.ALL))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> apartmentService.scrollApartmentResponses("not a cursor", 1, ApartmentSortKey.ID, ApartmentField.ALL))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void getApartmentById_withoutCollectionFields_readsOnlyTheApartmentRow() {
+        persistApartments("Prestige", 1);
+        Long id = entityManager.createQuery("select a.id from Apartment a", Long.class).getSingleResult();
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+        ApartmentDomain apartment = apartmentService.getApartmentById(id, EnumSet.of(ApartmentField.ID, ApartmentField.APARTMENT_NAME));
+
+        SqlStatementCounter.assertStatementCount(1);
+        assertThat(apartment.getApartmentName()).isEqualTo("Prestige 0");
+        assertThat(apartment.getApartmentBlocksDomainList()).isNull();
+        assertThat(apartment.getApartmentContactsDomainList()).isNull();
+    }
+
+    @Test
+    void verifyBlockExists_answersWithOneQuery_andTellsMissingApartmentFromMissingBlock() {
+        persistApartments("Prestige", 1);
+        Long id = entityManager.createQuery("select a.id from Apartment a", Long.class).getSingleResult();
+        entityManager.clear();
+
+        SqlStatementCounter.reset();
+        apartmentService.verifyBlockExists(id, "B");
+        SqlStatementCounter.assertStatementCount(1);
+
+        assertThatThrownBy(() -> apartmentService.verifyBlockExists(id, "C"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Block 'C'");
+        assertThatThrownBy(() -> apartmentService.verifyBlockExists(id + 1000, "B"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Apartment not found");
+    }
+
+    private int listingStatements(int pageSize) {
+        entityManager.clear();
+        SqlStatementCounter.reset();
+        Page<ApartmentDomain> page = apartmentService.getAllApartments(PageRequest.of(0, pageSize));
+        assertThat(page.getContent()).hasSize(pageSize);
+        return SqlStatementCounter.count();
+    }
+
+    private void persistApartments(String namePrefix, int count) {
+        for (int i = 0; i < count; i++) {
+            Apartment apartment = Apartment.builder()
+                    .apartmentName(namePrefix + " " + i)
+                    .address(new ApartmentAddress("Kanakapura Road", "", "Bengaluru", "Karnataka", "India", "560062"))
+                    .build();
+            for (String blockName : List.of("A", "B")) {
+                apartment.getApartmentBlocks().add(ApartmentBlocks.builder()
+                        .blockName(blockName)
+                        .apartment(apartment)
+                        .build());
+            }
+            for (String contactName : List.of("Manager", "Security")) {
+                apartment.getApartmentContacts().add(ApartmentContacts.builder()
+                        .contactName(contactName)
+                        .apartment(apartment)
+                        .build());
+            }
+            entityManager.persist(apartment);
+        }
+        entityManager.flush();
+    }
+}
@@ -2,6 +2,7 @@ package com.community.ecommerce.apartmentservice.service.impl;
 
 import com.community.ecommerce.apartmentservice.entity.Apartment;
 import com.community.ecommerce.apartmentservice.entity.ApartmentAddress;
+import com.community.ecommerce.apartmentservice.event.ApartmentChangedEvent;
 import com.community.ecommerce.apartmentservice.exception.ResourceNotFoundException;
 import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
 import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
@@ -12,13 +13,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,6 +39,9 @@ public class ApartmentServiceImplTest {
     @Mock
     private ApartmentMapper apartmentMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ApartmentServiceImpl apartmentService;
 
@@ -98,13 +106,14 @@ public class ApartmentServiceImplTest {
         verify(apartmentMapper).toEntity(any(ApartmentDomain.class));
         verify(apartmentRepository).save(any(Apartment.class));
         verify(apartmentMapper).toDomain(any(Apartment.class));
+        verify(eventPublisher).publishEvent(ApartmentChangedEvent.created(apartmentDomain));
     }
 
     @Test
     void updateApartment_whenExists_shouldUpdateAndReturnApartment() {
         // Arrange
         when(apartmentRepository.findById(1L)).thenReturn(Optional.of(apartment));
-        when(apartmentRepository.save(any(Apartment.class))).thenReturn(apartment);
+        when(apartmentRepository.saveAndFlush(any(Apartment.class))).thenReturn(apartment);
         when(apartmentMapper.toDomain(apartment)).thenReturn(apartmentDomain);
 
         // Act
@@ -113,31 +122,43 @@ public class ApartmentServiceImplTest {
         // Assert
         assertThat(updatedDomain).isNotNull();
         verify(apartmentRepository).findById(1L);
-        verify(apartmentRepository).save(apartment);
+        verify(apartmentRepository).saveAndFlush(apartment);
         verify(apartmentMapper).updateEntity(apartmentDomain, apartment);
+        verify(eventPublisher).publishEvent(ApartmentChangedEvent.updated(apartmentDomain));
     }
 
     @Test
-    void deleteApartment_whenExists_shouldCallRepositoryDelete() {
+    void deleteApartment_whenExists_shouldSoftDelete() {
         // Arrange
-        when(apartmentRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(apartmentRepository).deleteById(1L);
+        when(apartmentRepository.softDeleteById(eq(1L), any(LocalDateTime.class))).thenReturn(1);
 
         // Act
         apartmentService.deleteApartment(1L);
 
         // Assert
-        verify(apartmentRepository).existsById(1L);
-        verify(apartmentRepository).deleteById(1L);
+        verify(apartmentRepository).softDeleteById(eq(1L), any(LocalDateTime.class));
+        verify(apartmentRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(ApartmentChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void deleteApartment_whenMissingOrAlreadyDeleted_shouldThrowNotFound() {
+        // Arrange
+        when(apartmentRepository.softDeleteById(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> apartmentService.deleteApartment(1L));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void searchApartmentsByName_shouldReturnMatchingPagedApartments() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Apartment> apartmentPage = new PageImpl<>(List.of(apartment), pageable, 1);
-        when(apartmentRepository.findByApartmentNameContainingIgnoreCase(eq("Prestige"), any(Pageable.class)))
-                .thenReturn(apartmentPage);
+        Page<Long> idPage = new PageImpl<>(List.of(1L), pageable, 1);
+        when(apartmentRepository.findPageOfIdsByApartmentNameContainingIgnoreCase(eq("Prestige"), any(Pageable.class)))
+                .thenReturn(idPage);
+        when(apartmentRepository.findAllWithBlocksByIdIn(List.of(1L))).thenReturn(List.of(apartment));
         when(apartmentMapper.toDomain(any(Apartment.class))).thenReturn(apartmentDomain);
 
         // Act
@@ -147,16 +168,36 @@ public class ApartmentServiceImplTest {
         assertThat(results).isNotNull();
         assertThat(results.getContent()).hasSize(1);
         assertThat(results.getContent().get(0).getApartmentName()).isEqualTo("Prestige Falcon City");
-        verify(apartmentRepository).findByApartmentNameContainingIgnoreCase(eq("Prestige"), any(Pageable.class));
+        verify(apartmentRepository).findPageOfIdsByApartmentNameContainingIgnoreCase(eq("Prestige"), any(Pageable.class));
+        verify(apartmentRepository).findAllWithContactsByIdIn(Set.of(1L));
         verify(apartmentMapper, times(1)).toDomain(any(Apartment.class));
     }
 
+    @Test
+    void searchApartmentsByName_dropsApartmentsDeletedBetweenTheQueries() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Long> idPage = new PageImpl<>(List.of(1L, 2L), pageable, 2);
+        when(apartmentRepository.findPageOfIdsByApartmentNameContainingIgnoreCase(eq("Prestige"), any(Pageable.class)))
+                .thenReturn(idPage);
+        when(apartmentRepository.findAllWithBlocksByIdIn(List.of(1L, 2L))).thenReturn(List.of(apartment));
+        when(apartmentMapper.toDomain(any(Apartment.class))).thenReturn(apartmentDomain);
+
+        // Act
+        Page<ApartmentDomain> results = apartmentService.searchApartmentsByName("Prestige", pageable);
+
+        // Assert
+        assertThat(results.getContent()).containsExactly(apartmentDomain);
+        assertThat(results.getTotalElements()).isEqualTo(1);
+    }
+
     @Test
     void getAllApartments_shouldReturnPagedApartments() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Apartment> apartmentPage = new PageImpl<>(List.of(apartment), pageable, 1);
-        when(apartmentRepository.findAll(any(Pageable.class))).thenReturn(apartmentPage);
+        Page<Long> idPage = new PageImpl<>(List.of(1L), pageable, 1);
+        when(apartmentRepository.findPageOfIds(any(Pageable.class))).thenReturn(idPage);
+        when(apartmentRepository.findAllWithBlocksByIdIn(List.of(1L))).thenReturn(List.of(apartment));
         when(apartmentMapper.toDomain(any(Apartment.class))).thenReturn(apartmentDomain);
 
         // Act
@@ -166,7 +207,42 @@ public class ApartmentServiceImplTest {
         assertThat(results).isNotNull();
         assertThat(results.getContent()).hasSize(1);
         assertThat(results.getContent().get(0).getApartmentName()).isEqualTo("Prestige Falcon City");
-        verify(apartmentRepository).findAll(any(Pageable.class));
+        verify(apartmentRepository).findPageOfIds(any(Pageable.class));
+        verify(apartmentRepository).findAllWithContactsByIdIn(Set.of(1L));
         verify(apartmentMapper, times(1)).toDomain(any(Apartment.class));
     }
+
+    @Test
+    void getAllApartments_whenPageIsEmpty_shouldSkipCollectionQueries() {
+        // Arrange
+        Pageable pageable = PageRequest.of(3, 10);
+        when(apartmentRepository.findPageOfIds(pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 1));
+
+        // Act
+        Page<ApartmentDomain> results = apartmentService.getAllApartments(pageable);
+
+        // Assert
+        assertThat(results.getContent()).isEmpty();
+        assertThat(results.getTotalElements()).isEqualTo(1);
+        verify(apartmentRepository, never()).findAllWithBlocksByIdIn(any());
+        verify(apartmentRepository, never()).findAllWithContactsByIdIn(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchApartmentsByLocation_shouldLoadMatchingPage() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(apartmentRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(apartment), pageable, 1));
+        when(apartmentRepository.findAllWithBlocksByIdIn(List.of(1L))).thenReturn(List.of(apartment));
+        when(apartmentMapper.toDomain(apartment)).thenReturn(apartmentDomain);
+
+        // Act
+        Page<ApartmentDomain> results = apartmentService.searchApartmentsByLocation("Karnataka", "Bengaluru", null, pageable);
+
+        // Assert
+        assertThat(results.getContent()).containsExactly(apartmentDomain);
+        verify(apartmentRepository).findAllWithContactsByIdIn(Set.of(1L));
+    }
 }
@@ -0,0 +1,163 @@
+package com.community.ecommerce.apartmentservice.service.impl;
+
+import com.community.ecommerce.apartmentservice.config.MapperConfig;
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.entity.ApartmentAddress;
+import com.community.ecommerce.apartmentservice.entity.ApartmentBlocks;
+import com.community.ecommerce.apartmentservice.entity.ApartmentContacts;
+import com.community.ecommerce.apartmentservice.exception.ResourceNotFoundException;
+import com.community.ecommerce.apartmentservice.model.ApartmentBlocksDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentContactsDomain;
+import com.community.ecommerce.apartmentservice.model.ApartmentDomain;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({ApartmentServiceImpl.class, MapperConfig.class})
+public class ApartmentServiceUpdateTest {
+
+    @Autowired
+    private ApartmentServiceImpl apartmentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void updateApartment_keepsMatchingChildren_andOnlyWritesTheDifference() {
+        Apartment apartment = persistApartment();
+        Map<String, Long> blockIds = apartment.getApartmentBlocks().stream()
+                .collect(Collectors.toMap(ApartmentBlocks::getBlockName, ApartmentBlocks::getId));
+        Map<String, Long> contactIds = apartment.getApartmentContacts().stream()
+                .collect(Collectors.toMap(ApartmentContacts::getContactPhoneNumber, ApartmentContacts::getId));
+        entityManager.clear();
+
+        ApartmentDomain request = ApartmentDomain.builder()
+                .apartmentName("Prestige Falcon City")
+                .apartmentAddress(address())
+                .apartmentBlocksDomainList(List.of(block("A"), block("C")))
+                .apartmentContactsDomainList(List.of(
+                        contact("Manager (new)", "manager@example.com", "9000000001"),
+                        contact("Clubhouse", "club@example.com", "9000000003")))
+                .build();
+
+        apartmentService.updateApartment(apartment.getId(), request);
+        entityManager.flush();
+        entityManager.clear();
+
+        Apartment updated = entityManager.find(Apartment.class, apartment.getId());
+        Map<String, ApartmentBlocks> blocks = updated.getApartmentBlocks().stream()
+                .collect(Collectors.toMap(ApartmentBlocks::getBlockName, Function.identity()));
+        assertThat(blocks).containsOnlyKeys("A", "C");
+        assertThat(blocks.get("A").getId()).isEqualTo(blockIds.get("A"));
+
+        Map<String, ApartmentContacts> contacts = updated.getApartmentContacts().stream()
+                .collect(Collectors.toMap(ApartmentContacts::getContactPhoneNumber, Function.identity()));
+        assertThat(contacts).containsOnlyKeys("9000000001", "9000000003");
+        assertThat(contacts.get("9000000001").getId()).isEqualTo(contactIds.get("9000000001"));
+        assertThat(contacts.get("9000000001").getContactName()).isEqualTo("Manager (new)");
+
+        // Removed children are deleted rather than left behind pointing at the apartment
+        assertThat(childRows("ApartmentBlocks", apartment.getId())).isEqualTo(2);
+        assertThat(childRows("ApartmentContacts", apartment.getId())).isEqualTo(2);
+        assertThat(entityManager.find(ApartmentBlocks.class, blockIds.get("B"))).isNull();
+        assertThat(entityManager.find(ApartmentContacts.class, contactIds.get("9000000002"))).isNull();
+    }
+
+    @Test
+    void updateApartment_withUnchangedChildren_doesNotReinsertThem() {
+        Apartment apartment = persistApartment();
+        List<Long> blockIds = apartment.getApartmentBlocks().stream().map(ApartmentBlocks::getId).sorted().toList();
+        entityManager.clear();
+
+        ApartmentDomain request = ApartmentDomain.builder()
+                .apartmentName("Prestige Falcon City Phase 2")
+                .apartmentAddress(address())
+                .apartmentBlocksDomainList(List.of(block("B"), block("A")))
+                .apartmentContactsDomainList(List.of(
+                        contact("Manager", "manager@example.com", "9000000001"),
+                        contact("Security", "security@example.com", "9000000002")))
+                .build();
+
+        ApartmentDomain result = apartmentService.updateApartment(apartment.getId(), request);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(result.getVersion()).isEqualTo(apartment.getVersion() + 1);
+        Apartment updated = entityManager.find(Apartment.class, apartment.getId());
+        assertThat(updated.getApartmentName()).isEqualTo("Prestige Falcon City Phase 2");
+        assertThat(updated.getApartmentBlocks().stream().map(ApartmentBlocks::getId).sorted().toList())
+                .isEqualTo(blockIds);
+        assertThat(childRows("ApartmentBlocks", apartment.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void deleteApartment_hidesApartmentFromReads_andKeepsRowsForThePurge() {
+        Apartment apartment = persistApartment();
+        entityManager.clear();
+
+        apartmentService.deleteApartment(apartment.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(entityManager.find(Apartment.class, apartment.getId())).isNull();
+        assertThat(apartmentService.getAllApartments(PageRequest.of(0, 10))).isEmpty();
+        assertThatThrownBy(() -> apartmentService.deleteApartment(apartment.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(entityManager.createNativeQuery("select count(*) from apartments where deleted_at is not null")
+                .getSingleResult()).isEqualTo(1L);
+        assertThat(childRows("ApartmentBlocks", apartment.getId())).isEqualTo(2);
+    }
+
+    private long childRows(String entityName, Long apartmentId) {
+        return entityManager.createQuery(
+                        "select count(c) from " + entityName + " c where c.apartment.id = :id", Long.class)
+                .setParameter("id", apartmentId)
+                .getSingleResult();
+    }
+
+    private Apartment persistApartment() {
+        Apartment apartment = Apartment.builder()
+                .apartmentName("Prestige Falcon City")
+                .address(address())
+                .build();
+        for (String blockName : List.of("A", "B")) {
+            apartment.getApartmentBlocks().add(ApartmentBlocks.builder().blockName(blockName).apartment(apartment).build());
+        }
+        apartment.getApartmentContacts().add(ApartmentContacts.builder()
+                .contactName("Manager").contactEmail("manager@example.com").contactPhoneNumber("9000000001")
+                .apartment(apartment).build());
+        apartment.getApartmentContacts().add(ApartmentContacts.builder()
+                .contactName("Security").contactEmail("security@example.com").contactPhoneNumber("9000000002")
+                .apartment(apartment).build());
+        entityManager.persist(apartment);
+        entityManager.flush();
+        return apartment;
+    }
+
+    private static ApartmentAddress address() {
+        return new ApartmentAddress("Kanakapura Road", "", "Bengaluru", "Karnataka", "India", "560062");
+    }
+
+    private static ApartmentBlocksDomain block(String name) {
+        return ApartmentBlocksDomain.builder().blockName(name).build();
+    }
+
+    private static ApartmentContactsDomain contact(String name, String email, String phone) {
+        return ApartmentContactsDomain.builder().contactName(name).contactEmail(email).contactPhoneNumber(phone).build();
+    }
+}
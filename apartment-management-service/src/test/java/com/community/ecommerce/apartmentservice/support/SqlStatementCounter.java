@@ -0,0 +1,35 @@
+package com.community.ecommerce.apartmentservice.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Register with spring.jpa.properties.hibernate.session_factory.statement_inspector so that every
+// statement Hibernate prepares is counted. Hibernate instantiates the inspector itself, hence the
+// static counter.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    public static void assertStatementCount(int expected) {
+        assertThat(COUNT.get())
+                .as("SQL statements executed")
+                .isEqualTo(expected);
+    }
+}
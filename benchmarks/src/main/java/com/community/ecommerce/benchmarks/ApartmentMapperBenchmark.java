@@ -0,0 +1,94 @@
+package com.community.ecommerce.benchmarks;
+
+import com.community.ecommerce.apartmentservice.dto.ApartmentResponse;
+import com.community.ecommerce.apartmentservice.entity.Apartment;
+import com.community.ecommerce.apartmentservice.entity.ApartmentAddress;
+import com.community.ecommerce.apartmentservice.entity.ApartmentBlocks;
+import com.community.ecommerce.apartmentservice.entity.ApartmentContacts;
+import com.community.ecommerce.apartmentservice.mapper.ApartmentMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the two-step entity -> domain -> response read path with direct entity -> response mapping.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApartmentMapperBenchmark {
+
+    private static final int BLOCKS_PER_APARTMENT = 6;
+    private static final int CONTACTS_PER_APARTMENT = 3;
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ApartmentMapper apartmentMapper;
+    private List<Apartment> page;
+
+    @Setup
+    public void setUp() {
+        apartmentMapper = Mappers.getMapper(ApartmentMapper.class);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(apartment(i));
+        }
+    }
+
+    @Benchmark
+    public List<ApartmentResponse> viaDomain() {
+        List<ApartmentResponse> responses = new ArrayList<>(page.size());
+        for (Apartment apartment : page) {
+            responses.add(apartmentMapper.toResponse(apartmentMapper.toDomain(apartment)));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ApartmentResponse> direct() {
+        List<ApartmentResponse> responses = new ArrayList<>(page.size());
+        for (Apartment apartment : page) {
+            responses.add(apartmentMapper.toResponse(apartment));
+        }
+        return responses;
+    }
+
+    private static Apartment apartment(int i) {
+        List<ApartmentBlocks> blocks = new ArrayList<>(BLOCKS_PER_APARTMENT);
+        for (int b = 0; b < BLOCKS_PER_APARTMENT; b++) {
+            blocks.add(ApartmentBlocks.builder().id((long) b).blockName("Tower " + b).build());
+        }
+        List<ApartmentContacts> contacts = new ArrayList<>(CONTACTS_PER_APARTMENT);
+        for (int c = 0; c < CONTACTS_PER_APARTMENT; c++) {
+            contacts.add(ApartmentContacts.builder()
+                    .id((long) c)
+                    .contactName("Contact " + c)
+                    .contactEmail("contact" + c + "@example.com")
+                    .contactPhoneNumber("+91 98765432" + (10 + c))
+                    .build());
+        }
+        return Apartment.builder()
+                .id((long) i)
+                .apartmentName("Apartment " + i)
+                .address(new ApartmentAddress("Main Road " + i, null, "Bengaluru", "Karnataka", "India", "560062"))
+                .apartmentBlocks(blocks)
+                .apartmentContacts(contacts)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.community.ecommerce.benchmarks;
+
+import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.dto.UserResponse;
+import com.community.ecommerce.userservice.entity.Role;
+import com.community.ecommerce.userservice.entity.User;
+import com.community.ecommerce.userservice.mapper.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Measures the entity -> domain -> response path used by the user listing endpoints.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private UserMapper userMapper;
+    private List<User> page;
+
+    @Setup
+    public void setUp() {
+        // componentModel = "spring", but the generated implementation has no injected collaborators
+        userMapper = Mappers.getMapper(UserMapper.class);
+        Role resident = Role.builder().id(2L).name("RESIDENT").build();
+        LocalDateTime now = LocalDateTime.now();
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(User.builder()
+                    .id((long) i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .password("$2a$10$abcdefghijklmnopqrstuv")
+                    .apartmentId((long) (i % 50))
+                    .blockName("Tower " + (i % 6))
+                    .apartmentNumber(String.valueOf(100 + i))
+                    .status(UserStatus.APPROVED)
+                    .role(resident)
+                    .createdAt(now)
+                    .lastLoginAt(now)
+                    .version(0L)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<UserResponse> toResponse() {
+        List<UserResponse> responses = new ArrayList<>(page.size());
+        for (User user : page) {
+            responses.add(userMapper.toResponse(userMapper.toDomain(user)));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,16 @@
+package com.community.ecommerce.common.events;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ApartmentCreatedEvent(
+        Long apartmentId,
+        String apartmentName,
+        String cityName,
+        String stateName,
+        String zipCode,
+        List<String> blockNames,
+        List<String> contactEmails,
+        Long version,
+        Instant occurredAt
+) {}
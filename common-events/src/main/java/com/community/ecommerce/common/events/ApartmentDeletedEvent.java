@@ -0,0 +1,8 @@
+package com.community.ecommerce.common.events;
+
+import java.time.Instant;
+
+public record ApartmentDeletedEvent(
+        Long apartmentId,
+        Instant occurredAt
+) {}
@@ -0,0 +1,17 @@
+package com.community.ecommerce.common.events;
+
+import java.time.Instant;
+import java.util.List;
+
+// Carries the full state of the apartment after the update, so consumers can replace their copy outright
+public record ApartmentUpdatedEvent(
+        Long apartmentId,
+        String apartmentName,
+        String cityName,
+        String stateName,
+        String zipCode,
+        List<String> blockNames,
+        List<String> contactEmails,
+        Long version,
+        Instant occurredAt
+) {}
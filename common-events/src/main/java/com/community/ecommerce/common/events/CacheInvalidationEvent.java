@@ -0,0 +1,27 @@
+package com.community.ecommerce.common.events;
+
+// Tells every service instance to drop locally cached data. An entityType with an entityId evicts one
+// entry, an entityType alone evicts every entry of that type, and neither flushes all local caches.
+// origin identifies the publishing instance so it can skip its own messages.
+public record CacheInvalidationEvent(
+        String entityType,
+        Long entityId,
+        String origin
+) {
+
+    public static CacheInvalidationEvent evict(String entityType, Long entityId, String origin) {
+        return new CacheInvalidationEvent(entityType, entityId, origin);
+    }
+
+    public static CacheInvalidationEvent evictAll(String entityType, String origin) {
+        return new CacheInvalidationEvent(entityType, null, origin);
+    }
+
+    public static CacheInvalidationEvent flushAll(String origin) {
+        return new CacheInvalidationEvent(null, null, origin);
+    }
+
+    public boolean fullFlush() {
+        return entityType == null;
+    }
+}
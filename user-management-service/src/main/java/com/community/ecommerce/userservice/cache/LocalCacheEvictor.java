@@ -0,0 +1,36 @@
+package com.community.ecommerce.userservice.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Drops entries from this instance's second-level cache. Entity types are JPA entity names,
+// and types this service does not map are ignored.
+@Component
+@RequiredArgsConstructor
+public class LocalCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(String entityType, Long entityId) {
+        entityClass(entityType).ifPresent(entityClass -> entityManagerFactory.getCache().evict(entityClass, entityId));
+    }
+
+    public void evictAll(String entityType) {
+        entityClass(entityType).ifPresent(entityClass -> entityManagerFactory.getCache().evict(entityClass));
+    }
+
+    public void flushAll() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private Optional<Class<?>> entityClass(String entityType) {
+        return entityManagerFactory.getMetamodel().getEntities().stream()
+                .filter(entity -> entity.getName().equals(entityType))
+                .<Class<?>>map(EntityType::getJavaType)
+                .findFirst();
+    }
+}
@@ -55,6 +55,13 @@ public class SecurityConfig {
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/api/v1/users/register", "/api/v1/auth/login").permitAll() // Allow registration and login without authentication
                 .requestMatchers("/api/v1/users").hasRole("ADMIN") // Only ADMIN can list all users
+                .requestMatchers(HttpMethod.GET, "/api/v1/users/export").hasRole("ADMIN") // Only ADMIN can export users
+                .requestMatchers(HttpMethod.GET, "/api/v1/users/search").hasRole("ADMIN") // Only ADMIN can search the resident directory
+                .requestMatchers(HttpMethod.GET, "/api/v1/users/status-history", "/api/v1/users/{id}/status-history").hasRole("ADMIN") // Only ADMIN can view status history
+                .requestMatchers(HttpMethod.POST, "/api/v1/users/batch").hasRole("ADMIN") // Only ADMIN can look up users in bulk
+                .requestMatchers("/api/v1/users/partitions", "/api/v1/users/partitions/**").hasRole("ADMIN") // Only ADMIN can maintain user partitions
+                .requestMatchers(HttpMethod.GET, "/api/v1/users/archive", "/api/v1/users/archive/**").hasRole("ADMIN") // Only ADMIN can view archived users
+                .requestMatchers(HttpMethod.POST, "/api/v1/users/cache/flush").hasRole("ADMIN") // Only ADMIN can flush caches
                 .requestMatchers("/api/v1/users/{id}").access(new WebExpressionAuthorizationManager("hasRole('ADMIN') or (hasRole('RESIDENT') and #id == authentication.principal.id)")) // ADMIN can get any user, RESIDENT can get their own
                 .requestMatchers(HttpMethod.PUT, "/api/v1/users/{id}").access(new WebExpressionAuthorizationManager("hasRole('ADMIN') or (hasRole('RESIDENT') and #id == authentication.principal.id)")) // ADMIN can update any user, RESIDENT can update their own
                 .requestMatchers(HttpMethod.DELETE, "/api/v1/users/{id}").hasRole("ADMIN") // Only ADMIN can delete users
@@ -0,0 +1,30 @@
+package com.community.ecommerce.userservice.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final ReplicationLagMonitor replicationLagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagMonitor replicationLagMonitor) {
+        this.replicationLagMonitor = replicationLagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Only read-only transactions may go to the replica, and only while it is keeping up with the primary
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicationLagMonitor.isReplicaAvailable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -4,6 +4,7 @@ import com.community.ecommerce.userservice.dto.JwtResponse;
 import com.community.ecommerce.userservice.dto.LoginRequest;
 import com.community.ecommerce.userservice.security.CustomUserDetails;
 import com.community.ecommerce.userservice.security.jwt.JwtUtil;
+import com.community.ecommerce.userservice.service.UserActivityTracker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,6 +32,7 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final UserActivityTracker userActivityTracker;
 
     @Operation(summary = "User login",
                description = "Authenticates a user and returns a JWT token.",
@@ -51,6 +53,7 @@ public class AuthController {
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
+        userActivityTracker.recordLogin(userDetails.getId());
 
         return ResponseEntity.ok(new JwtResponse(jwt, "Bearer", userDetails.getId(), userDetails.getUsername(), roles));
     }
@@ -0,0 +1,33 @@
+package com.community.ecommerce.userservice.controller;
+
+import com.community.ecommerce.userservice.cache.CacheInvalidationPublisher;
+import com.community.ecommerce.userservice.cache.LocalCacheEvictor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Cache Administration", description = "APIs for managing local caches across instances")
+public class CacheAdminController {
+
+    private final LocalCacheEvictor localCacheEvictor;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Operation(summary = "Flush all caches",
+               description = "Flushes the local caches of this instance and tells every other instance to do the same. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "204", description = "Caches flushed"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @PostMapping("/api/v1/users/cache/flush")
+    public ResponseEntity<Void> flushCaches() {
+        localCacheEvictor.flushAll();
+        cacheInvalidationPublisher.publishFlushAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,19 +1,32 @@
 package com.community.ecommerce.userservice.controller;
 
+import com.community.ecommerce.common.events.UserStatus;
 import com.community.ecommerce.userservice.dto.*;
+import com.community.ecommerce.userservice.exception.PreconditionFailedException;
 import com.community.ecommerce.userservice.mapper.UserMapper;
 import com.community.ecommerce.userservice.model.UserDomain;
 import com.community.ecommerce.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,6 +37,9 @@ public class UserController {
     private final UserService userService;
     private final UserMapper userMapper;
 
+    @Value("${user.export.timeout:30m}")
+    private Duration exportTimeout;
+
     @Operation(summary = "Register a new user",
                description = "Registers a new user with PENDING_APPROVAL status and PENDING_USER role.",
                responses = {
@@ -48,34 +64,123 @@ public class UserController {
                })
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        UserDomain userDomain = userService.getUserById(id);
-        return ResponseEntity.ok(userMapper.toResponse(userDomain));
+        UserResponse user = userService.getUserById(id);
+        return ResponseEntity.ok().eTag(eTag(user.version())).body(user);
     }
 
     @Operation(summary = "Get all users",
-               description = "Retrieve a paginated and sortable list of all users. Only ADMINs can access.",
+               description = "Retrieve a paginated and sortable list of all users, optionally filtered by apartment and status. Only ADMINs can access.",
                responses = {
                    @ApiResponse(responseCode = "200", description = "List of users retrieved"),
                    @ApiResponse(responseCode = "403", description = "Forbidden access")
                })
     @GetMapping
-    public ResponseEntity<Page<UserResponse>> getAllUsers(Pageable pageable) {
-        Page<UserDomain> userDomainPage = userService.getAllUsers(pageable);
-        return ResponseEntity.ok(userDomainPage.map(userMapper::toResponse));
+    public ResponseEntity<Page<UserResponse>> getAllUsers(
+            @RequestParam(required = false) Long apartmentId,
+            @RequestParam(required = false) UserStatus status,
+            Pageable pageable) {
+        return ResponseEntity.ok(userService.getAllUsers(apartmentId, status, pageable));
+    }
+
+    @Operation(summary = "Get users by IDs",
+               description = "Retrieve up to " + UserBatchRequest.MAX_IDS + " users in one call, in the requested order. IDs that do not exist are listed separately. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Users retrieved"),
+                   @ApiResponse(responseCode = "400", description = "Invalid input or too many IDs"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @PostMapping("/batch")
+    public ResponseEntity<UserBatchResponse> getUsersByIds(@Valid @RequestBody UserBatchRequest request) {
+        List<UserResponse> users = userService.getUsersByIds(request.ids());
+        Set<Long> foundIds = users.stream().map(UserResponse::id).collect(Collectors.toSet());
+        List<Long> notFoundIds = request.ids().stream()
+                .distinct()
+                .filter(id -> !foundIds.contains(id))
+                .toList();
+        return ResponseEntity.ok(new UserBatchResponse(users, notFoundIds));
+    }
+
+    @Operation(summary = "Search residents",
+               description = "Finds users in an apartment whose first name, last name, email or apartment number contains the query. Matches at the start of a field rank first. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Matching users retrieved"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @GetMapping("/search")
+    public ResponseEntity<Page<UserResponse>> searchUsers(
+            @RequestParam Long apartmentId,
+            @RequestParam("q") String query,
+            Pageable pageable) {
+        return ResponseEntity.ok(userService.searchUsers(apartmentId, query, pageable));
+    }
+
+    @Operation(summary = "Get status history for an apartment",
+               description = "Retrieve a paginated list of status and role changes for all users of an apartment. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Status history retrieved"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @GetMapping("/status-history")
+    public ResponseEntity<Page<UserStatusAuditResponse>> getApartmentStatusHistory(
+            @RequestParam Long apartmentId,
+            @PageableDefault(sort = "changedAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(userService.getApartmentStatusHistory(apartmentId, pageable));
+    }
+
+    @Operation(summary = "Export users",
+               description = "Streams users matching the optional apartment and status filters as NDJSON or CSV. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Export streamed"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportUsers(
+            @RequestParam(required = false) Long apartmentId,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response) {
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getFileExtension() + "\"");
+        // Streams on an MVC async thread under the export's own timeout
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            userService.exportUsers(apartmentId, status, format, response.getOutputStream());
+            return null;
+        });
     }
 
     @Operation(summary = "Update user profile",
-               description = "Update an existing user's profile. ADMIN can update any user, RESIDENT can update their own.",
+               description = "Update an existing user's profile. Send the ETag from a previous read as If-Match to reject the change if the user was modified since. ADMIN can update any user, RESIDENT can update their own.",
                responses = {
                    @ApiResponse(responseCode = "200", description = "User updated successfully"),
                    @ApiResponse(responseCode = "400", description = "Invalid input"),
                    @ApiResponse(responseCode = "403", description = "Forbidden access"),
-                   @ApiResponse(responseCode = "404", description = "User not found")
+                   @ApiResponse(responseCode = "404", description = "User not found"),
+                   @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
                })
     @PutMapping("/{id}")
-    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @Valid @RequestBody UserUpdateRequest request) {
-        UserDomain updatedUserDomain = userService.updateUser(id, request);
-        return ResponseEntity.ok(userMapper.toResponse(updatedUserDomain));
+    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @Valid @RequestBody UserUpdateRequest request) {
+        UserDomain updatedUserDomain = userService.updateUser(id, request, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updatedUserDomain.getVersion())).body(userMapper.toResponse(updatedUserDomain));
+    }
+
+    @Operation(summary = "Partially update user profile",
+               description = "Updates only the supplied fields. Send the ETag from a previous read as If-Match to reject the change if the user was modified since. ADMIN can update any user, RESIDENT can update their own.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "User updated successfully"),
+                   @ApiResponse(responseCode = "400", description = "Invalid input"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access"),
+                   @ApiResponse(responseCode = "404", description = "User not found"),
+                   @ApiResponse(responseCode = "409", description = "User was modified concurrently"),
+                   @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
+               })
+    @PatchMapping("/{id}")
+    public ResponseEntity<UserResponse> patchUser(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @Valid @RequestBody UserPatchRequest request) {
+        UserDomain updatedUserDomain = userService.patchUser(id, request, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updatedUserDomain.getVersion())).body(userMapper.toResponse(updatedUserDomain));
     }
 
     @Operation(summary = "Delete a user",
@@ -118,4 +223,63 @@ public class UserController {
         UserDomain updatedUserDomain = userService.approveOrRejectUser(id, request);
         return ResponseEntity.ok(userMapper.toResponse(updatedUserDomain));
     }
+
+    @Operation(summary = "Get status history for a user",
+               description = "Retrieve a paginated list of a user's status and role changes, newest first by default. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Status history retrieved"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @GetMapping("/{id}/status-history")
+    public ResponseEntity<Page<UserStatusAuditResponse>> getStatusHistory(
+            @PathVariable Long id,
+            @PageableDefault(sort = "changedAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(userService.getStatusHistory(id, pageable));
+    }
+
+    @Operation(summary = "Get archived users",
+               description = "Retrieve a paginated list of an apartment's archived (rejected or long-pending) users, most recently archived first by default. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Archived users retrieved"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @GetMapping("/archive")
+    public ResponseEntity<Page<ArchivedUserResponse>> getArchivedUsers(
+            @RequestParam Long apartmentId,
+            @PageableDefault(sort = "archivedAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(userService.getArchivedUsers(apartmentId, pageable));
+    }
+
+    @Operation(summary = "Get archived user by ID",
+               description = "Retrieve an archived user by their original ID. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Archived user found"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access"),
+                   @ApiResponse(responseCode = "404", description = "Archived user not found")
+               })
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<ArchivedUserResponse> getArchivedUserById(@PathVariable Long id) {
+        return ResponseEntity.ok(userService.getArchivedUserById(id));
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Accepts "3" or "\"3\""; "*" matches any version. If-Match uses strong comparison, so W/"3" never matches
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new PreconditionFailedException("Weak entity tags cannot be used in If-Match: " + ifMatch);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Invalid If-Match header: " + ifMatch);
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package com.community.ecommerce.userservice.controller;
+
+import com.community.ecommerce.userservice.dto.UserPartitionResponse;
+import com.community.ecommerce.userservice.service.UserPartitionManager;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/users/partitions")
+@ConditionalOnProperty(name = "user.partitioning.enabled", havingValue = "true")
+@Tag(name = "User Partitions", description = "APIs for maintaining per-apartment partitions of the users table")
+public class UserPartitionController {
+
+    private final UserPartitionManager userPartitionManager;
+
+    @Operation(summary = "List user partitions",
+               description = "Lists the partitions of the users table with their bounds and estimated row counts. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Partitions listed"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @GetMapping
+    public ResponseEntity<List<UserPartitionResponse>> listPartitions() {
+        return ResponseEntity.ok(userPartitionManager.listPartitions());
+    }
+
+    @Operation(summary = "Create a partition for an apartment",
+               description = "Moves the apartment's users out of the default partition into a dedicated one. Idempotent. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Partition exists"),
+                   @ApiResponse(responseCode = "400", description = "Invalid apartment ID"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access")
+               })
+    @PostMapping("/{apartmentId}")
+    public ResponseEntity<UserPartitionResponse> createPartition(@PathVariable Long apartmentId) {
+        return ResponseEntity.ok(userPartitionManager.createPartition(apartmentId));
+    }
+
+    @Operation(summary = "Detach an apartment's partition",
+               description = "Detaches the apartment's partition, keeping it as a standalone table for archival. Only ADMINs can access.",
+               responses = {
+                   @ApiResponse(responseCode = "204", description = "Partition detached"),
+                   @ApiResponse(responseCode = "400", description = "Invalid apartment ID"),
+                   @ApiResponse(responseCode = "403", description = "Forbidden access"),
+                   @ApiResponse(responseCode = "404", description = "No partition for the apartment")
+               })
+    @DeleteMapping("/{apartmentId}")
+    public ResponseEntity<Void> detachPartition(@PathVariable Long apartmentId) {
+        userPartitionManager.detachPartition(apartmentId);
+        return ResponseEntity.noContent().build();
+    }
+}
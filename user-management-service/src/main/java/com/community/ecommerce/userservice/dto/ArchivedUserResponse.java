@@ -0,0 +1,19 @@
+package com.community.ecommerce.userservice.dto;
+
+import com.community.ecommerce.common.events.UserStatus;
+
+import java.time.LocalDateTime;
+
+public record ArchivedUserResponse(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        Long apartmentId,
+        String blockName,
+        String apartmentNumber,
+        UserStatus status,
+        String roleName,
+        LocalDateTime createdAt,
+        LocalDateTime archivedAt
+) {}
@@ -0,0 +1,15 @@
+package com.community.ecommerce.userservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserBatchRequest(
+        @NotEmpty(message = "IDs cannot be empty")
+        @Size(max = UserBatchRequest.MAX_IDS, message = "At most " + UserBatchRequest.MAX_IDS + " IDs can be requested at once")
+        List<@NotNull(message = "IDs cannot contain null") Long> ids
+) {
+    public static final int MAX_IDS = 100;
+}
@@ -0,0 +1,8 @@
+package com.community.ecommerce.userservice.dto;
+
+import java.util.List;
+
+public record UserBatchResponse(
+        List<UserResponse> users, // In the order the IDs were requested
+        List<Long> notFoundIds
+) {}
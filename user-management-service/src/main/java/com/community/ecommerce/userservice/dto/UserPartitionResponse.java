@@ -0,0 +1,7 @@
+package com.community.ecommerce.userservice.dto;
+
+public record UserPartitionResponse(
+        String name,
+        String bound,
+        Long estimatedRows
+) {}
@@ -0,0 +1,23 @@
+package com.community.ecommerce.userservice.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+
+// Partial profile update: null fields are left untouched
+public record UserPatchRequest(
+        @Pattern(regexp = ".*\\S.*", message = "First name cannot be blank")
+        String firstName,
+
+        @Pattern(regexp = ".*\\S.*", message = "Last name cannot be blank")
+        String lastName,
+
+        @Pattern(regexp = ".*\\S.*", message = "Email cannot be blank")
+        @Email(message = "Invalid email format")
+        String email,
+
+        @Pattern(regexp = ".*\\S.*", message = "Block name cannot be blank")
+        String blockName,
+
+        @Pattern(regexp = ".*\\S.*", message = "Apartment number cannot be blank")
+        String apartmentNumber
+) {}
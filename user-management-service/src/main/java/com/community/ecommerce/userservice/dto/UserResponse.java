@@ -14,5 +14,8 @@ public record UserResponse(
         String apartmentNumber,
         UserStatus status,
         String roleName,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        LocalDateTime lastLoginAt,
+        LocalDateTime lastSeenAt,
+        Long version
 ) {}
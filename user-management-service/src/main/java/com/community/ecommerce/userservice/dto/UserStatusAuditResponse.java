@@ -0,0 +1,17 @@
+package com.community.ecommerce.userservice.dto;
+
+import com.community.ecommerce.common.events.UserStatus;
+
+import java.time.LocalDateTime;
+
+public record UserStatusAuditResponse(
+        Long id,
+        Long userId,
+        Long apartmentId,
+        UserStatus oldStatus,
+        UserStatus newStatus,
+        String oldRoleName,
+        String newRoleName,
+        String changedBy,
+        LocalDateTime changedAt
+) {}
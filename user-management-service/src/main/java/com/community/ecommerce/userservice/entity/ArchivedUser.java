@@ -0,0 +1,55 @@
+package com.community.ecommerce.userservice.entity;
+
+import com.community.ecommerce.common.events.UserStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Rejected and long-pending users moved out of the hot users table by UserArchivalJob.
+// Keeps the original ID; the password hash and role reference are not carried over.
+@Entity
+@Immutable
+@Table(name = "users_archive", indexes = {
+        @Index(name = "idx_users_archive_apartment", columnList = "apartmentId, archivedAt"),
+        @Index(name = "idx_users_archive_email", columnList = "email")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedUser {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String firstName;
+
+    @Column(nullable = false)
+    private String lastName;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private Long apartmentId;
+
+    private String blockName;
+
+    private String apartmentNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserStatus status;
+
+    private String roleName;
+
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -6,12 +6,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@DynamicUpdate // UPDATE statements only carry the columns that actually changed
 @Data
 @Builder
 @NoArgsConstructor
@@ -33,6 +41,9 @@ public class User {
     @Column(nullable = false)
     private String password;
 
+    // Added to the WHERE clause of entity UPDATE/DELETE statements so they prune to one partition
+    // when the table is partitioned (db/partitioning)
+    @PartitionKey
     @Column(nullable = false)
     private Long apartmentId;
 
@@ -52,4 +63,20 @@ public class User {
 
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    // Set on every approve/reject; archival measures the REJECTED retention window from here
+    private LocalDateTime statusChangedAt;
+
+    // Written in batches by UserActivityTracker, never through the entity
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastSeenAt;
+
+    // Optimistic lock: concurrent edits fail instead of silently overwriting each other. Exposed as the ETag.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
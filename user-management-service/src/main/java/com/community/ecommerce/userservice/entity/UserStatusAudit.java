@@ -0,0 +1,51 @@
+package com.community.ecommerce.userservice.entity;
+
+import com.community.ecommerce.common.events.UserStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Append-only history of status/role transitions. Rows are inserted in batches by UserStatusAuditRecorder
+// and never updated or deleted.
+@Entity
+@Immutable
+@Table(name = "user_status_audit", indexes = {
+        @Index(name = "idx_user_status_audit_user", columnList = "userId, changedAt"),
+        @Index(name = "idx_user_status_audit_apartment", columnList = "apartmentId, changedAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatusAudit {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long apartmentId;
+
+    @Enumerated(EnumType.STRING)
+    private UserStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserStatus newStatus;
+
+    private String oldRoleName;
+
+    private String newRoleName;
+
+    private String changedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -19,6 +19,9 @@ public interface UserMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "role", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "lastLoginAt", ignore = true)
+    @Mapping(target = "lastSeenAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     UserDomain toDomain(UserRegistrationRequest request);
 
     @Mapping(target = "id", ignore = true)
@@ -27,6 +30,9 @@ public interface UserMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "role", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "lastLoginAt", ignore = true)
+    @Mapping(target = "lastSeenAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     UserDomain toDomain(UserUpdateRequest request);
 
     // --- Entity to Domain ---
@@ -36,6 +42,7 @@ public interface UserMapper {
 
     // --- Domain to Entity ---
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "statusChangedAt", ignore = true)
     @Mapping(target = "role", source = "role")
     User toEntity(UserDomain userDomain);
     Role toEntity(RoleDomain roleDomain);
@@ -47,6 +54,10 @@ public interface UserMapper {
     // --- Update existing Entity from Domain ---
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "statusChangedAt", ignore = true)
+    @Mapping(target = "lastLoginAt", ignore = true)
+    @Mapping(target = "lastSeenAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "role", source = "role")
     void updateEntity(UserDomain userDomain, @MappingTarget User user);
 }
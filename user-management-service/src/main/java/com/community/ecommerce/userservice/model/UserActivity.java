@@ -0,0 +1,18 @@
+package com.community.ecommerce.userservice.model;
+
+import java.time.LocalDateTime;
+
+// Latest login/seen timestamps recorded for a user since the last flush; either may be null
+public record UserActivity(LocalDateTime lastLoginAt, LocalDateTime lastSeenAt) {
+
+    public UserActivity merge(UserActivity other) {
+        return new UserActivity(latest(lastLoginAt, other.lastLoginAt), latest(lastSeenAt, other.lastSeenAt));
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
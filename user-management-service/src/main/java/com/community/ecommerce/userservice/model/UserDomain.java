@@ -24,4 +24,7 @@ public class UserDomain {
     private UserStatus status;
     private RoleDomain role;
     private LocalDateTime createdAt;
+    private LocalDateTime lastLoginAt;
+    private LocalDateTime lastSeenAt;
+    private Long version;
 }
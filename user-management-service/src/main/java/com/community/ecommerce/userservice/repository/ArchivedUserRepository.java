@@ -0,0 +1,27 @@
+package com.community.ecommerce.userservice.repository;
+
+import com.community.ecommerce.userservice.dto.ArchivedUserResponse;
+import com.community.ecommerce.userservice.entity.ArchivedUser;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchivedUserRepository extends JpaRepository<ArchivedUser, Long> {
+
+    String SELECT_ARCHIVED_USER_RESPONSE = "select new com.community.ecommerce.userservice.dto.ArchivedUserResponse(" +
+            "a.id, a.firstName, a.lastName, a.email, a.apartmentId, a.blockName, a.apartmentNumber, " +
+            "a.status, a.roleName, a.createdAt, a.archivedAt) from ArchivedUser a";
+
+    @Query(SELECT_ARCHIVED_USER_RESPONSE + " where a.id = :id")
+    Optional<ArchivedUserResponse> findResponseById(@Param("id") Long id);
+
+    @Query(value = SELECT_ARCHIVED_USER_RESPONSE + " where a.apartmentId = :apartmentId",
+           countQuery = "select count(a) from ArchivedUser a where a.apartmentId = :apartmentId")
+    Page<ArchivedUserResponse> findResponsesByApartmentId(@Param("apartmentId") Long apartmentId, Pageable pageable);
+}
@@ -0,0 +1,191 @@
+package com.community.ecommerce.userservice.repository;
+
+import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.dto.UserResponse;
+import com.community.ecommerce.userservice.entity.UserStatusAudit;
+import com.community.ecommerce.userservice.model.UserActivity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Plain JDBC access for read paths that should not go through the persistence context
+@Repository
+public class UserJdbcRepository {
+
+    private static final String USER_RESPONSE_COLUMNS =
+            "u.id, u.first_name, u.last_name, u.email, u.apartment_id, u.block_name, " +
+            "u.apartment_number, u.status, r.name AS role_name, u.created_at, u.last_login_at, u.last_seen_at, u.version";
+
+    // Must stay identical to the idx_users_search_trgm expression in schema.sql
+    private static final String SEARCH_TEXT =
+            "lower(u.first_name || ' ' || u.last_name || ' ' || u.email || ' ' || u.apartment_number)";
+
+    private static final String SEARCH_FILTER = " FROM users u JOIN roles r ON r.id = u.role_id" +
+            " WHERE u.apartment_id = ? AND " + SEARCH_TEXT + " LIKE ? ESCAPE '\\'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public UserJdbcRepository(DataSource dataSource, @Value("${user.export.fetch-size:1000}") int exportFetchSize) {
+        // A positive fetch size makes the PostgreSQL driver use a server-side cursor
+        // (inside a transaction), so only one batch of rows is held in memory at a time.
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(exportFetchSize);
+    }
+
+    public void streamUsers(Long apartmentId, UserStatus status, Consumer<UserResponse> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(USER_RESPONSE_COLUMNS)
+                .append(" FROM users u JOIN roles r ON r.id = u.role_id WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (apartmentId != null) {
+            sql.append(" AND u.apartment_id = ?");
+            args.add(apartmentId);
+        }
+        if (status != null) {
+            sql.append(" AND u.status = ?");
+            args.add(status.name());
+        }
+        sql.append(" ORDER BY u.id");
+
+        streamingJdbcTemplate.query(sql.toString(),
+                (RowCallbackHandler) rs -> consumer.accept(mapUserResponse(rs)),
+                args.toArray());
+    }
+
+    // Substring match served by the trigram index; fields that start with the term rank first,
+    // then closer overall similarity
+    public Page<UserResponse> searchUsers(Long apartmentId, String term, Pageable pageable) {
+        String normalized = term.toLowerCase();
+        String contains = "%" + escapeLike(normalized) + "%";
+        String prefix = escapeLike(normalized) + "%";
+
+        String sql = "SELECT " + USER_RESPONSE_COLUMNS + SEARCH_FILTER +
+                " ORDER BY CASE WHEN lower(u.first_name) LIKE ? ESCAPE '\\' OR lower(u.last_name) LIKE ? ESCAPE '\\'" +
+                " OR lower(u.email) LIKE ? ESCAPE '\\' OR lower(u.apartment_number) LIKE ? ESCAPE '\\' THEN 0 ELSE 1 END," +
+                " similarity(" + SEARCH_TEXT + ", ?) DESC, u.id" +
+                " LIMIT ? OFFSET ?";
+        List<UserResponse> content = jdbcTemplate.query(sql, (rs, rowNum) -> mapUserResponse(rs),
+                apartmentId, contains, prefix, prefix, prefix, prefix, normalized, pageable.getPageSize(), pageable.getOffset());
+
+        // The count query only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbcTemplate.queryForObject("SELECT count(*)" + SEARCH_FILTER, Long.class, apartmentId, contains));
+    }
+
+    // One statement for the whole batch: the rows are passed as parallel arrays and joined back by id.
+    // GREATEST ignores NULLs, so a missing login time keeps the stored one and out-of-order flushes never go backwards.
+    public int updateActivity(Map<Long, UserActivity> activityByUserId) {
+        if (activityByUserId.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = new Long[activityByUserId.size()];
+        Timestamp[] lastLogins = new Timestamp[ids.length];
+        Timestamp[] lastSeens = new Timestamp[ids.length];
+        int i = 0;
+        for (Map.Entry<Long, UserActivity> entry : activityByUserId.entrySet()) {
+            ids[i] = entry.getKey();
+            lastLogins[i] = toTimestamp(entry.getValue().lastLoginAt());
+            lastSeens[i] = toTimestamp(entry.getValue().lastSeenAt());
+            i++;
+        }
+        String sql = "UPDATE users u SET last_login_at = GREATEST(u.last_login_at, a.last_login_at)," +
+                " last_seen_at = GREATEST(u.last_seen_at, a.last_seen_at)" +
+                " FROM unnest(?, ?, ?) AS a(id, last_login_at, last_seen_at) WHERE u.id = a.id";
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            Array idArray = connection.createArrayOf("bigint", ids);
+            Array loginArray = connection.createArrayOf("timestamp", lastLogins);
+            Array seenArray = connection.createArrayOf("timestamp", lastSeens);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setArray(1, idArray);
+                ps.setArray(2, loginArray);
+                ps.setArray(3, seenArray);
+                return ps.executeUpdate();
+            } finally {
+                idArray.free();
+                loginArray.free();
+                seenArray.free();
+            }
+        });
+    }
+
+    // With reWriteBatchedInserts on the JDBC URL the driver sends each batch as multi-row INSERTs.
+    // One transaction for the whole list, so a failed call leaves nothing behind to duplicate on retry.
+    @Transactional
+    public void insertStatusAudits(List<UserStatusAudit> entries) {
+        jdbcTemplate.batchUpdate("INSERT INTO user_status_audit (user_id, apartment_id, old_status, new_status, " +
+                        "old_role_name, new_role_name, changed_by, changed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getUserId());
+                    ps.setLong(2, entry.getApartmentId());
+                    ps.setString(3, entry.getOldStatus() != null ? entry.getOldStatus().name() : null);
+                    ps.setString(4, entry.getNewStatus().name());
+                    ps.setString(5, entry.getOldRoleName());
+                    ps.setString(6, entry.getNewRoleName());
+                    ps.setString(7, entry.getChangedBy());
+                    ps.setTimestamp(8, Timestamp.valueOf(entry.getChangedAt()));
+                });
+    }
+
+    // Moves up to "limit" archivable users in one statement (and so one transaction). SKIP LOCKED skips rows
+    // that a concurrent approval or another archival run is touching rather than waiting on them.
+    // Rejected users are aged from the rejection; rows rejected before status_changed_at existed fall back to created_at.
+    public int archiveBatch(LocalDateTime rejectedBefore, LocalDateTime pendingBefore, int limit) {
+        return jdbcTemplate.update("WITH moved AS (" +
+                        " DELETE FROM users u WHERE u.id IN (" +
+                        "  SELECT id FROM users WHERE (status = 'REJECTED' AND COALESCE(status_changed_at, created_at) < ?)" +
+                        "   OR (status = 'PENDING_APPROVAL' AND created_at < ?)" +
+                        "  ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)" +
+                        " RETURNING u.*)" +
+                        " INSERT INTO users_archive (id, first_name, last_name, email, apartment_id, block_name," +
+                        "  apartment_number, status, role_name, created_at, archived_at)" +
+                        " SELECT m.id, m.first_name, m.last_name, m.email, m.apartment_id, m.block_name," +
+                        "  m.apartment_number, m.status, r.name, m.created_at, now()" +
+                        " FROM moved m LEFT JOIN roles r ON r.id = m.role_id",
+                Timestamp.valueOf(rejectedBefore), Timestamp.valueOf(pendingBefore), limit);
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    static UserResponse mapUserResponse(ResultSet rs) throws SQLException {
+        return new UserResponse(
+                rs.getLong("id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                rs.getLong("apartment_id"),
+                rs.getString("block_name"),
+                rs.getString("apartment_number"),
+                UserStatus.valueOf(rs.getString("status")),
+                rs.getString("role_name"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("last_login_at", LocalDateTime.class),
+                rs.getObject("last_seen_at", LocalDateTime.class),
+                rs.getLong("version")
+        );
+    }
+}
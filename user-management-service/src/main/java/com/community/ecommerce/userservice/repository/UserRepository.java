@@ -1,13 +1,56 @@
 package com.community.ecommerce.userservice.repository;
 
+import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.dto.UserResponse;
 import com.community.ecommerce.userservice.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // Read-only projection straight into the response record: no managed entity, no mapper passes
+    String SELECT_USER_RESPONSE = "select new com.community.ecommerce.userservice.dto.UserResponse(" +
+            "u.id, u.firstName, u.lastName, u.email, u.apartmentId, u.blockName, u.apartmentNumber, " +
+            "u.status, r.name, u.createdAt, u.lastLoginAt, u.lastSeenAt, u.version) from User u join u.role r";
+
+    String USER_FILTERS = " where (:apartmentId is null or u.apartmentId = :apartmentId)" +
+            " and (:status is null or u.status = :status)";
+
+    // Hit on every authenticated request by the JWT filter; served from the query cache when enabled
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
     boolean existsByEmail(String email);
+
+    @Query(SELECT_USER_RESPONSE + " where u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_USER_RESPONSE + " where u.id in :ids")
+    List<UserResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Plain equality on the partition key so the planner can prune to the apartment's partition;
+    // the "is null or" form of USER_FILTERS cannot be pruned
+    @Query(value = SELECT_USER_RESPONSE + " where u.apartmentId = :apartmentId and (:status is null or u.status = :status)",
+           countQuery = "select count(u) from User u where u.apartmentId = :apartmentId and (:status is null or u.status = :status)")
+    Page<UserResponse> findResponsesByApartmentId(@Param("apartmentId") Long apartmentId,
+                                                  @Param("status") UserStatus status,
+                                                  Pageable pageable);
+
+    @Query(value = SELECT_USER_RESPONSE + USER_FILTERS,
+           countQuery = "select count(u) from User u" + USER_FILTERS)
+    Page<UserResponse> findResponses(@Param("apartmentId") Long apartmentId,
+                                     @Param("status") UserStatus status,
+                                     Pageable pageable);
 }
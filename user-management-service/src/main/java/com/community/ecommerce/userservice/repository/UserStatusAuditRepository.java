@@ -0,0 +1,26 @@
+package com.community.ecommerce.userservice.repository;
+
+import com.community.ecommerce.userservice.dto.UserStatusAuditResponse;
+import com.community.ecommerce.userservice.entity.UserStatusAudit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStatusAuditRepository extends JpaRepository<UserStatusAudit, Long> {
+
+    String SELECT_AUDIT_RESPONSE = "select new com.community.ecommerce.userservice.dto.UserStatusAuditResponse(" +
+            "a.id, a.userId, a.apartmentId, a.oldStatus, a.newStatus, a.oldRoleName, a.newRoleName, " +
+            "a.changedBy, a.changedAt) from UserStatusAudit a";
+
+    @Query(value = SELECT_AUDIT_RESPONSE + " where a.userId = :userId",
+           countQuery = "select count(a) from UserStatusAudit a where a.userId = :userId")
+    Page<UserStatusAuditResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SELECT_AUDIT_RESPONSE + " where a.apartmentId = :apartmentId",
+           countQuery = "select count(a) from UserStatusAudit a where a.apartmentId = :apartmentId")
+    Page<UserStatusAuditResponse> findResponsesByApartmentId(@Param("apartmentId") Long apartmentId, Pageable pageable);
+}
@@ -1,6 +1,8 @@
 package com.community.ecommerce.userservice.security.jwt;
 
+import com.community.ecommerce.userservice.security.CustomUserDetails;
 import com.community.ecommerce.userservice.security.CustomUserDetailsService;
+import com.community.ecommerce.userservice.service.UserActivityTracker;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +28,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final UserActivityTracker userActivityTracker;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -41,6 +44,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                userActivityTracker.recordSeen(((CustomUserDetails) userDetails).getId());
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
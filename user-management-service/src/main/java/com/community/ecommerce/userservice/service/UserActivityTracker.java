@@ -0,0 +1,161 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.model.UserActivity;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Write-behind tracker for last-login/last-seen timestamps. Hits are coalesced per user in memory and
+// written as one batched UPDATE every flush interval, or sooner once max-pending users have accumulated.
+// A crash loses at most one interval's worth of timestamps for at most max-pending users. Early flushes run
+// on the scheduler thread, never the request thread. While the database is failing, pending is capped at
+// max-pending: hits from users not already pending are dropped and the least recently seen entries of a
+// failed batch are discarded rather than requeued.
+@Service
+public class UserActivityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserActivityTracker.class);
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final int maxPending;
+    private final Executor flushExecutor;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<Long, UserActivity> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean flushFailing;
+
+    @Autowired
+    public UserActivityTracker(UserJdbcRepository userJdbcRepository,
+                               @Value("${user.activity.max-pending:10000}") int maxPending,
+                               @Qualifier("taskScheduler") TaskExecutor taskScheduler) {
+        this(userJdbcRepository, maxPending, taskScheduler, Clock.systemDefaultZone());
+    }
+
+    UserActivityTracker(UserJdbcRepository userJdbcRepository, int maxPending, Executor flushExecutor, Clock clock) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.maxPending = maxPending;
+        this.flushExecutor = flushExecutor;
+        this.clock = clock;
+    }
+
+    public void recordLogin(Long userId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        record(userId, new UserActivity(now, now));
+    }
+
+    public void recordSeen(Long userId) {
+        record(userId, new UserActivity(null, LocalDateTime.now(clock)));
+    }
+
+    private void record(Long userId, UserActivity activity) {
+        if (flushFailing && pending.size() >= maxPending && !pending.containsKey(userId)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.merge(userId, activity, UserActivity::merge);
+        // While flushes are failing only the scheduled flush retries, so requests don't keep queueing doomed ones
+        if (pending.size() >= maxPending && !flushFailing && earlyFlushQueued.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(this::earlyFlush);
+            } catch (RejectedExecutionException e) {
+                earlyFlushQueued.set(false);
+                logger.debug("Early activity flush rejected, leaving it to the scheduled flush: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void earlyFlush() {
+        try {
+            flush();
+        } finally {
+            earlyFlushQueued.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.activity.flush-interval-ms:10000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Remove entries one by one so hits arriving during the flush stay queued for the next one
+        Map<Long, UserActivity> batch = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            UserActivity activity = pending.remove(userId);
+            if (activity != null) {
+                batch.put(userId, activity);
+            }
+        }
+        try {
+            userJdbcRepository.updateActivity(batch);
+            flushFailing = false;
+            logger.debug("Flushed activity for {} users", batch.size());
+        } catch (Exception e) {
+            flushFailing = true;
+            int requeued = requeue(batch);
+            logger.warn("Failed to flush activity for {} users, requeued {} for the next flush: {}",
+                    batch.size(), requeued, e.getMessage());
+        }
+        long droppedHits = dropped.getAndSet(0);
+        if (droppedHits > 0) {
+            logger.warn("Dropped {} activity hits while pending activity was at its cap of {}", droppedHits, maxPending);
+        }
+    }
+
+    // Puts a failed batch back, most recently seen first, without pushing pending past max-pending
+    private int requeue(Map<Long, UserActivity> batch) {
+        Comparator<UserActivity> byLastSeen = Comparator.comparing(UserActivity::lastSeenAt,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        int requeued = 0;
+        for (Map.Entry<Long, UserActivity> entry : batch.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(byLastSeen.reversed()))
+                .toList()) {
+            if (pending.size() >= maxPending && !pending.containsKey(entry.getKey())) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            pending.merge(entry.getKey(), entry.getValue(), UserActivity::merge);
+            requeued++;
+        }
+        return requeued;
+    }
+}
@@ -0,0 +1,128 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.cache.CacheInvalidationPublisher;
+import com.community.ecommerce.userservice.entity.User;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Moves REJECTED users and registrations stuck in PENDING_APPROVAL into users_archive. Each batch is a
+// single DELETE ... RETURNING / INSERT statement committed on its own, so locks are short-lived and a
+// run can be interrupted at any point. SKIP LOCKED lets several instances run the job concurrently.
+@Service
+@ConditionalOnProperty(name = "user.archival.enabled", havingValue = "true", matchIfMissing = true)
+public class UserArchivalJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserArchivalJob.class);
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final Clock clock;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+    private final int rejectedRetentionDays;
+    private final int pendingRetentionDays;
+
+    private final Counter archivedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lastRunArchived = new AtomicLong();
+
+    @Autowired
+    public UserArchivalJob(UserJdbcRepository userJdbcRepository,
+                           EntityManagerFactory entityManagerFactory,
+                           CacheInvalidationPublisher cacheInvalidationPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${user.archival.batch-size:500}") int batchSize,
+                           @Value("${user.archival.max-batches-per-run:200}") int maxBatchesPerRun,
+                           @Value("${user.archival.pause-ms:200}") long pauseMillis,
+                           @Value("${user.archival.rejected-retention-days:30}") int rejectedRetentionDays,
+                           @Value("${user.archival.pending-retention-days:90}") int pendingRetentionDays) {
+        this(userJdbcRepository, entityManagerFactory, cacheInvalidationPublisher, meterRegistry, Clock.systemDefaultZone(),
+                batchSize, maxBatchesPerRun, pauseMillis, rejectedRetentionDays, pendingRetentionDays);
+    }
+
+    UserArchivalJob(UserJdbcRepository userJdbcRepository, EntityManagerFactory entityManagerFactory,
+                    CacheInvalidationPublisher cacheInvalidationPublisher, MeterRegistry meterRegistry, Clock clock, int batchSize, int maxBatchesPerRun,
+                    long pauseMillis, int rejectedRetentionDays, int pendingRetentionDays) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.rejectedRetentionDays = rejectedRetentionDays;
+        this.pendingRetentionDays = pendingRetentionDays;
+        this.archivedCounter = Counter.builder("users.archival.archived")
+                .description("Users moved to the archive table")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("users.archival.batch")
+                .description("Time taken by one archival batch")
+                .register(meterRegistry);
+        // Strong reference: a plain registry gauge only weakly holds the counter and reads NaN once it is collected
+        Gauge.builder("users.archival.last-run.archived", lastRunArchived, AtomicLong::get)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${user.archival.cron:0 30 2 * * *}")
+    public int archive() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime rejectedBefore = now.minusDays(rejectedRetentionDays);
+        LocalDateTime pendingBefore = now.minusDays(pendingRetentionDays);
+
+        int total = 0;
+        for (int batch = 1; batch <= maxBatchesPerRun; batch++) {
+            int archived = batchTimer.record(() -> userJdbcRepository.archiveBatch(rejectedBefore, pendingBefore, batchSize));
+            archivedCounter.increment(archived);
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+            logger.debug("Archival batch {} moved {} users ({} so far)", batch, archived, total);
+            if (!pause()) {
+                break;
+            }
+        }
+        lastRunArchived.set(total);
+
+        if (total > 0) {
+            // Archived rows may still sit in the second-level cache, here and on the other instances
+            entityManagerFactory.getCache().evict(User.class);
+            cacheInvalidationPublisher.publishEvictAll("User");
+            logger.info("Archived {} rejected/stale pending users", total);
+        }
+        return total;
+    }
+
+    // Throttle between batches so the job never saturates the primary
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.dto.ExportFormat;
+import com.community.ecommerce.userservice.dto.UserResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class UserExportWriter implements Closeable {
+
+    private static final String CSV_HEADER =
+            "id,firstName,lastName,email,apartmentId,blockName,apartmentNumber,status,roleName,createdAt";
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator jsonGenerator;
+
+    public UserExportWriter(ExportFormat format, OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.NDJSON) {
+            this.jsonGenerator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        } else {
+            this.jsonGenerator = null;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void write(UserResponse user) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                jsonGenerator.writeObject(user);
+                jsonGenerator.flush();
+                writer.write('\n');
+            } else {
+                writeCsvRow(user);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write user export row", e);
+        }
+    }
+
+    private void writeCsvRow(UserResponse user) throws IOException {
+        writer.write(String.valueOf(user.id()));
+        writer.write(',');
+        writer.write(csv(user.firstName()));
+        writer.write(',');
+        writer.write(csv(user.lastName()));
+        writer.write(',');
+        writer.write(csv(user.email()));
+        writer.write(',');
+        writer.write(String.valueOf(user.apartmentId()));
+        writer.write(',');
+        writer.write(csv(user.blockName()));
+        writer.write(',');
+        writer.write(csv(user.apartmentNumber()));
+        writer.write(',');
+        writer.write(user.status() != null ? user.status().name() : "");
+        writer.write(',');
+        writer.write(csv(user.roleName()));
+        writer.write(',');
+        writer.write(user.createdAt() != null ? user.createdAt().toString() : "");
+        writer.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (jsonGenerator != null) {
+            jsonGenerator.close();
+        }
+        writer.flush();
+    }
+}
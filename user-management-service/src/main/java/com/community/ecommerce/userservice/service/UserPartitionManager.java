@@ -0,0 +1,93 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.dto.UserPartitionResponse;
+import com.community.ecommerce.userservice.exception.InvalidRequestException;
+import com.community.ecommerce.userservice.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Per-apartment maintenance of the LIST-partitioned users table (see db/partitioning). Only active once
+// the migration has been applied and user.partitioning.enabled is set.
+@Service
+@ConditionalOnProperty(name = "user.partitioning.enabled", havingValue = "true")
+public class UserPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPartitionManager.class);
+
+    private static final String LIST_PARTITIONS = "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound," +
+            " c.reltuples::bigint AS estimated_rows FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid" +
+            " WHERE i.inhparent = 'users'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserPartitionManager(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public List<UserPartitionResponse> listPartitions() {
+        return jdbcTemplate.query(LIST_PARTITIONS + " ORDER BY c.relname", (rs, rowNum) ->
+                new UserPartitionResponse(rs.getString("name"), rs.getString("bound"), rs.getLong("estimated_rows")));
+    }
+
+    // Splits an apartment's residents out of the default partition into their own. Writes to the default
+    // partition are blocked while the rows move; reads continue.
+    @Transactional
+    public UserPartitionResponse createPartition(Long apartmentId) {
+        String partition = partitionName(apartmentId);
+        if (!isAttached(partition)) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+                throw new IllegalStateException("Table " + partition + " exists but is detached; drop or archive it first");
+            }
+            jdbcTemplate.execute("SET LOCAL app.partition_maintenance = 'on'");
+            jdbcTemplate.execute("LOCK TABLE users_default IN EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE users INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            // Lets ATTACH skip its validation scan of the new table
+            jdbcTemplate.execute("ALTER TABLE " + partition + " ADD CONSTRAINT " + partition + "_key CHECK (apartment_id = " + apartmentId + ")");
+            int moved = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM users_default WHERE apartment_id = ?", apartmentId);
+            jdbcTemplate.update("DELETE FROM users_default WHERE apartment_id = ?", apartmentId);
+            jdbcTemplate.execute("ALTER TABLE users ATTACH PARTITION " + partition + " FOR VALUES IN (" + apartmentId + ")");
+            jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT " + partition + "_key");
+            jdbcTemplate.execute("ANALYZE " + partition);
+            logger.info("Created partition {} with {} users", partition, moved);
+        }
+        return findPartition(partition);
+    }
+
+    // Takes a community's residents offline: the partition is detached and kept as a standalone table
+    // for archival, and its emails are released for re-registration
+    @Transactional
+    public void detachPartition(Long apartmentId) {
+        String partition = partitionName(apartmentId);
+        if (!isAttached(partition)) {
+            throw new ResourceNotFoundException("No partition for apartment ID: " + apartmentId);
+        }
+        jdbcTemplate.execute("ALTER TABLE users DETACH PARTITION " + partition);
+        int released = jdbcTemplate.update("DELETE FROM user_emails e USING " + partition + " p WHERE e.user_id = p.id");
+        logger.info("Detached partition {}, released {} emails", partition, released);
+    }
+
+    private boolean isAttached(String partition) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM (" + LIST_PARTITIONS + " AND c.relname = ?) p", Long.class, partition);
+        return count != null && count > 0;
+    }
+
+    private UserPartitionResponse findPartition(String partition) {
+        return jdbcTemplate.queryForObject(LIST_PARTITIONS + " AND c.relname = ?", (rs, rowNum) ->
+                new UserPartitionResponse(rs.getString("name"), rs.getString("bound"), rs.getLong("estimated_rows")), partition);
+    }
+
+    // apartmentId is a positive Long, so the generated identifier is always safe to inline into DDL
+    static String partitionName(Long apartmentId) {
+        if (apartmentId == null || apartmentId <= 0) {
+            throw new InvalidRequestException("Invalid apartment ID: " + apartmentId);
+        }
+        return "users_apt_" + apartmentId;
+    }
+}
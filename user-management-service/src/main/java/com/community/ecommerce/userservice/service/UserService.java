@@ -1,18 +1,36 @@
 package com.community.ecommerce.userservice.service;
 
+import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.dto.ArchivedUserResponse;
+import com.community.ecommerce.userservice.dto.ExportFormat;
+import com.community.ecommerce.userservice.dto.UserPatchRequest;
 import com.community.ecommerce.userservice.dto.UserRegistrationRequest;
+import com.community.ecommerce.userservice.dto.UserResponse;
+import com.community.ecommerce.userservice.dto.UserStatusAuditResponse;
 import com.community.ecommerce.userservice.dto.UserStatusUpdateRequest;
 import com.community.ecommerce.userservice.dto.UserUpdateRequest;
 import com.community.ecommerce.userservice.model.UserDomain;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 public interface UserService {
     UserDomain registerUser(UserRegistrationRequest request);
-    UserDomain getUserById(Long id);
-    Page<UserDomain> getAllUsers(Pageable pageable);
-    UserDomain updateUser(Long id, UserUpdateRequest request);
+    UserResponse getUserById(Long id);
+    Page<UserResponse> getAllUsers(Long apartmentId, UserStatus status, Pageable pageable);
+    List<UserResponse> getUsersByIds(List<Long> ids);
+    Page<UserResponse> searchUsers(Long apartmentId, String query, Pageable pageable);
+    UserDomain updateUser(Long id, UserUpdateRequest request, Long expectedVersion);
+    UserDomain patchUser(Long id, UserPatchRequest request, Long expectedVersion);
     void deleteUser(Long id);
     void changePassword(Long id, String oldPassword, String newPassword);
     UserDomain approveOrRejectUser(Long userId, UserStatusUpdateRequest request);
+    Page<UserStatusAuditResponse> getStatusHistory(Long userId, Pageable pageable);
+    Page<UserStatusAuditResponse> getApartmentStatusHistory(Long apartmentId, Pageable pageable);
+    ArchivedUserResponse getArchivedUserById(Long id);
+    Page<ArchivedUserResponse> getArchivedUsers(Long apartmentId, Pageable pageable);
+    void exportUsers(Long apartmentId, UserStatus status, ExportFormat format, OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,137 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.entity.UserStatusAudit;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Buffers status audit entries in a lock-free queue, bounded by a separate counter, so recording costs the
+// approval call only a CAS and an offer; a scheduled drain writes them as batched inserts. A failed batch is
+// retried whole on the next flushes (each batch insert is one transaction, so a retry never duplicates rows),
+// then row by row once max-attempts is used up; rows that still fail are logged in full and dropped.
+@Service
+public class UserStatusAuditRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatusAuditRecorder.class);
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final int maxQueued;
+
+    private final ConcurrentLinkedQueue<UserStatusAudit> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the whole queue, so the bound is tracked here
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Only touched under the flush monitor
+    private List<UserStatusAudit> failedBatch;
+    private int failedAttempts;
+
+    public UserStatusAuditRecorder(UserJdbcRepository userJdbcRepository,
+                                   @Value("${user.status-audit.batch-size:500}") int batchSize,
+                                   @Value("${user.status-audit.max-queued:100000}") int maxQueued,
+                                   @Value("${user.status-audit.max-attempts:5}") int maxAttempts) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxQueued = maxQueued;
+    }
+
+    public void record(UserStatusAudit entry) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            logger.error("Status audit queue is full, dropping entry: {}", entry);
+            return;
+        }
+        queue.offer(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${user.status-audit.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (failedBatch != null && !retryFailedBatch()) {
+            return;
+        }
+        List<UserStatusAudit> batch = new ArrayList<>(batchSize);
+        UserStatusAudit entry;
+        while ((entry = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(entry);
+            if (batch.size() == batchSize) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    int pendingCount() {
+        return queued.get() + (failedBatch != null ? failedBatch.size() : 0);
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+
+    private boolean write(List<UserStatusAudit> batch) {
+        try {
+            userJdbcRepository.insertStatusAudits(batch);
+            return true;
+        } catch (Exception e) {
+            // changedAt is captured at record time, so retried entries keep their original timestamps
+            logger.warn("Failed to write {} status audit entries, retrying on next flush: {}", batch.size(), e.getMessage());
+            failedBatch = batch;
+            failedAttempts = 1;
+            return false;
+        }
+    }
+
+    private boolean retryFailedBatch() {
+        try {
+            userJdbcRepository.insertStatusAudits(failedBatch);
+        } catch (Exception e) {
+            if (++failedAttempts < maxAttempts) {
+                logger.warn("Failed to write {} status audit entries (attempt {} of {}): {}",
+                        failedBatch.size(), failedAttempts, maxAttempts, e.getMessage());
+                return false;
+            }
+            // Out of attempts: isolate the rows that keep failing so the rest of the batch still lands
+            logger.warn("Giving up on batch writes for {} status audit entries after {} attempts, writing them one by one",
+                    failedBatch.size(), failedAttempts);
+            failedBatch.forEach(this::writeOrDeadLetter);
+        }
+        failedBatch = null;
+        failedAttempts = 0;
+        return true;
+    }
+
+    private void writeOrDeadLetter(UserStatusAudit entry) {
+        try {
+            userJdbcRepository.insertStatusAudits(List.of(entry));
+        } catch (Exception e) {
+            dropped.incrementAndGet();
+            logger.error("Dropping status audit entry that could not be written: {}", entry, e);
+        }
+    }
+}
@@ -1,31 +1,56 @@
 package com.community.ecommerce.userservice.service.impl;
 
-import com.community.ecommerce.userservice.dto.ApartmentDetailsResponse;
+import com.community.ecommerce.userservice.dto.ArchivedUserResponse;
+import com.community.ecommerce.userservice.dto.ExportFormat;
+import com.community.ecommerce.userservice.dto.UserPatchRequest;
 import com.community.ecommerce.userservice.dto.UserRegistrationRequest;
+import com.community.ecommerce.userservice.dto.UserResponse;
+import com.community.ecommerce.userservice.dto.UserStatusAuditResponse;
 import com.community.ecommerce.userservice.dto.UserStatusUpdateRequest;
 import com.community.ecommerce.userservice.dto.UserUpdateRequest;
 import com.community.ecommerce.userservice.entity.Role;
 import com.community.ecommerce.userservice.entity.User;
+import com.community.ecommerce.userservice.entity.UserStatusAudit;
 import com.community.ecommerce.common.events.UserRegisteredEvent;
 import com.community.ecommerce.common.events.UserStatusChangedEvent;
 import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.exception.PreconditionFailedException;
 import com.community.ecommerce.userservice.exception.ResourceNotFoundException;
 import com.community.ecommerce.userservice.mapper.UserMapper;
 import com.community.ecommerce.userservice.model.UserDomain;
+import com.community.ecommerce.userservice.repository.ArchivedUserRepository;
 import com.community.ecommerce.userservice.repository.RoleRepository;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
 import com.community.ecommerce.userservice.repository.UserRepository;
+import com.community.ecommerce.userservice.repository.UserStatusAuditRepository;
 import com.community.ecommerce.userservice.service.UserEventProducer;
+import com.community.ecommerce.userservice.service.UserExportWriter;
 import com.community.ecommerce.userservice.service.UserService;
+import com.community.ecommerce.userservice.service.UserStatusAuditRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
@@ -36,6 +61,11 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final RestTemplate restTemplate;
     private final UserEventProducer userEventProducer;
+    private final UserJdbcRepository userJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final UserStatusAuditRepository userStatusAuditRepository;
+    private final UserStatusAuditRecorder userStatusAuditRecorder;
+    private final ArchivedUserRepository archivedUserRepository;
 
     @Value("${apartment.service.url}")
     private String apartmentServiceUrl;
@@ -46,20 +76,19 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("User with this email already exists");
         }
 
-        // Verify apartment existence via inter-service communication
-        String apartmentVerificationUrl = apartmentServiceUrl + "/api/v1/apartments/" + request.apartmentId();
-        ApartmentDetailsResponse apartmentDetails;
+        // Verify the apartment and block via inter-service communication. The block check answers with a bare
+        // status code; the apartment itself is only probed when the block is missing, to pick the error message.
         try {
-            apartmentDetails = restTemplate.getForObject(apartmentVerificationUrl, ApartmentDetailsResponse.class);
-            if (apartmentDetails == null || apartmentDetails.blockNames() == null || !apartmentDetails.blockNames().contains(request.blockName())) {
-                throw new ResourceNotFoundException("Block '" + request.blockName() + "' not found in Apartment with ID " + request.apartmentId() + ".");
-            }
+            restTemplate.headForHeaders(apartmentServiceUrl + "/api/v1/apartments/{id}/blocks/{blockName}",
+                    request.apartmentId(), request.blockName());
         } catch (HttpClientErrorException ex) {
-            if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new ResourceNotFoundException("Apartment with ID " + request.apartmentId() + " not found. Your apartment is not onboarded yet.");
-            } else {
+            if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
                 throw new RuntimeException("Error verifying apartment: " + ex.getMessage());
             }
+            if (!apartmentExists(request.apartmentId())) {
+                throw new ResourceNotFoundException("Apartment with ID " + request.apartmentId() + " not found. Your apartment is not onboarded yet.");
+            }
+            throw new ResourceNotFoundException("Block '" + request.blockName() + "' not found in Apartment with ID " + request.apartmentId() + ".");
         }
 
         UserDomain userDomain = userMapper.toDomain(request);
@@ -90,23 +119,62 @@ public class UserServiceImpl implements UserService {
         return userMapper.toDomain(savedUserEntity);
     }
 
+    private boolean apartmentExists(Long apartmentId) {
+        try {
+            restTemplate.headForHeaders(apartmentServiceUrl + "/api/v1/apartments/{id}?fields=id", apartmentId);
+            return true;
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return false;
+            }
+            throw new RuntimeException("Error verifying apartment: " + ex.getMessage());
+        }
+    }
+
     @Override
-    public UserDomain getUserById(Long id) {
-        User userEntity = userRepository.findById(id)
+    @Transactional(readOnly = true)
+    public UserResponse getUserById(Long id) {
+        return userRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
-        return userMapper.toDomain(userEntity);
     }
 
     @Override
-    public Page<UserDomain> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(userMapper::toDomain);
+    @Transactional(readOnly = true)
+    public Page<UserResponse> getAllUsers(Long apartmentId, UserStatus status, Pageable pageable) {
+        if (apartmentId != null) {
+            return userRepository.findResponsesByApartmentId(apartmentId, status, pageable);
+        }
+        return userRepository.findResponses(null, status, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponse> getUsersByIds(List<Long> ids) {
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(ids);
+        // One "WHERE id IN (...)" round-trip, then restore the caller's ordering
+        Map<Long, UserResponse> usersById = userRepository.findResponsesByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(UserResponse::id, Function.identity()));
+        return uniqueIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserResponse> searchUsers(Long apartmentId, String query, Pageable pageable) {
+        String term = query == null ? "" : query.trim();
+        if (term.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return userJdbcRepository.searchUsers(apartmentId, term, pageable);
     }
 
     @Override
-    public UserDomain updateUser(Long id, UserUpdateRequest request) {
+    public UserDomain updateUser(Long id, UserUpdateRequest request, Long expectedVersion) {
         User existingUserEntity = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+        checkExpectedVersion(existingUserEntity, expectedVersion);
 
         // Update fields from request
         existingUserEntity.setFirstName(request.firstName());
@@ -123,6 +191,41 @@ public class UserServiceImpl implements UserService {
         return userMapper.toDomain(updatedUserEntity);
     }
 
+    @Override
+    @Transactional
+    public UserDomain patchUser(Long id, UserPatchRequest request, Long expectedVersion) {
+        User existingUserEntity = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+
+        checkExpectedVersion(existingUserEntity, expectedVersion);
+        if (request.email() != null && !request.email().equals(existingUserEntity.getEmail())
+                && userRepository.existsByEmail(request.email())) {
+            throw new IllegalArgumentException("User with this email already exists");
+        }
+
+        // Only the supplied fields are touched; with dynamic update Hibernate writes just the columns
+        // whose values changed, and skips the UPDATE entirely when nothing did
+        if (request.firstName() != null) {
+            existingUserEntity.setFirstName(request.firstName());
+        }
+        if (request.lastName() != null) {
+            existingUserEntity.setLastName(request.lastName());
+        }
+        if (request.email() != null) {
+            existingUserEntity.setEmail(request.email());
+        }
+        if (request.blockName() != null) {
+            existingUserEntity.setBlockName(request.blockName());
+        }
+        if (request.apartmentNumber() != null) {
+            existingUserEntity.setApartmentNumber(request.apartmentNumber());
+        }
+
+        // Flush so the response carries the incremented version
+        User updatedUserEntity = userRepository.saveAndFlush(existingUserEntity);
+        return userMapper.toDomain(updatedUserEntity);
+    }
+
     @Override
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
@@ -158,7 +261,9 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Cannot change status from APPROVED to PENDING_APPROVAL.");
         }
 
+        LocalDateTime changedAt = LocalDateTime.now();
         userEntity.setStatus(request.status());
+        userEntity.setStatusChangedAt(changedAt);
 
         // If approved, assign the specified role (e.g., RESIDENT)
         if (request.status() == UserStatus.APPROVED && request.roleName() != null) {
@@ -172,6 +277,18 @@ public class UserServiceImpl implements UserService {
 
         User updatedUserEntity = userRepository.save(userEntity);
 
+        // Only enqueued here; the recorder writes the history row off the request thread
+        userStatusAuditRecorder.record(UserStatusAudit.builder()
+                .userId(updatedUserEntity.getId())
+                .apartmentId(updatedUserEntity.getApartmentId())
+                .oldStatus(oldStatus)
+                .newStatus(updatedUserEntity.getStatus())
+                .oldRoleName(oldRoleName)
+                .newRoleName(updatedUserEntity.getRole().getName())
+                .changedBy(currentActor())
+                .changedAt(changedAt)
+                .build());
+
         // Publish UserStatusChangedEvent
         userEventProducer.publishUserStatusChangedEvent(new UserStatusChangedEvent(
                 updatedUserEntity.getId(),
@@ -189,4 +306,49 @@ public class UserServiceImpl implements UserService {
 
         return userMapper.toDomain(updatedUserEntity);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserStatusAuditResponse> getStatusHistory(Long userId, Pageable pageable) {
+        return userStatusAuditRepository.findResponsesByUserId(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserStatusAuditResponse> getApartmentStatusHistory(Long apartmentId, Pageable pageable) {
+        return userStatusAuditRepository.findResponsesByApartmentId(apartmentId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArchivedUserResponse getArchivedUserById(Long id) {
+        return archivedUserRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Archived user not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArchivedUserResponse> getArchivedUsers(Long apartmentId, Pageable pageable) {
+        return archivedUserRepository.findResponsesByApartmentId(apartmentId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true) // Keeps the connection out of autocommit so the cursor streams in batches
+    public void exportUsers(Long apartmentId, UserStatus status, ExportFormat format, OutputStream outputStream) throws IOException {
+        try (UserExportWriter writer = new UserExportWriter(format, outputStream, objectMapper)) {
+            userJdbcRepository.streamUsers(apartmentId, status, writer::write);
+        }
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private static void checkExpectedVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User with ID " + user.getId() + " has been modified (current version "
+                    + user.getVersion() + ", expected " + expectedVersion + ")");
+        }
+    }
 }
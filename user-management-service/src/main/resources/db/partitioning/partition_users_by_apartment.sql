@@ -0,0 +1,101 @@
+-- One-time, opt-in migration: turns "users" into a table LIST-partitioned by apartment_id.
+--
+--   psql -d user-management-db -v ON_ERROR_STOP=1 -f partition_users_by_apartment.sql
+--
+-- Then run the service with the "partitioned" profile (Hibernate must no longer manage this table's DDL).
+-- Every resident starts in users_default; dedicated per-apartment partitions are split out afterwards
+-- through UserPartitionManager (POST /api/v1/users/partitions/{apartmentId}).
+--
+-- A unique constraint on a partitioned table has to include the partition key, so global email
+-- uniqueness moves to the user_emails registry, kept in sync by triggers.
+-- The old table is kept as users_unpartitioned until the migration has been verified.
+
+BEGIN;
+
+LOCK TABLE users IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE users RENAME TO users_unpartitioned;
+ALTER TABLE users_unpartitioned RENAME CONSTRAINT users_pkey TO users_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_users_search_trgm RENAME TO idx_users_unpartitioned_search_trgm;
+
+CREATE SEQUENCE users_partitioned_id_seq;
+
+CREATE TABLE users (
+    id               BIGINT       NOT NULL DEFAULT nextval('users_partitioned_id_seq'),
+    first_name       VARCHAR(255) NOT NULL,
+    last_name        VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL,
+    password         VARCHAR(255) NOT NULL,
+    apartment_id     BIGINT       NOT NULL,
+    block_name       VARCHAR(255) NOT NULL,
+    apartment_number VARCHAR(255) NOT NULL,
+    status           VARCHAR(255) NOT NULL,
+    role_id          BIGINT       NOT NULL REFERENCES roles (id),
+    created_at       TIMESTAMP(6),
+    status_changed_at TIMESTAMP(6),
+    version          BIGINT       NOT NULL DEFAULT 0,
+    last_login_at    TIMESTAMP(6),
+    last_seen_at     TIMESTAMP(6),
+    PRIMARY KEY (id, apartment_id)
+) PARTITION BY LIST (apartment_id);
+
+ALTER SEQUENCE users_partitioned_id_seq OWNED BY users.id;
+
+CREATE TABLE users_default PARTITION OF users DEFAULT;
+
+-- Partitioned indexes: created once here, cloned onto every partition attached later
+CREATE INDEX idx_users_email ON users (email);
+CREATE INDEX idx_users_apartment_status ON users (apartment_id, status);
+CREATE INDEX idx_users_search_trgm ON users USING gin (
+    apartment_id,
+    (lower(first_name || ' ' || last_name || ' ' || email || ' ' || apartment_number)) gin_trgm_ops
+);
+
+CREATE TABLE user_emails (
+    email   VARCHAR(255) PRIMARY KEY,
+    user_id BIGINT       NOT NULL
+);
+
+-- UserPartitionManager moves rows between partitions with app.partition_maintenance = 'on';
+-- those moves must not touch the registry
+CREATE FUNCTION users_email_registry() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('app.partition_maintenance', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM user_emails WHERE email = OLD.email AND user_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        -- Raises unique_violation (23505) for a duplicate email, as the old unique constraint did
+        INSERT INTO user_emails (email, user_id) VALUES (NEW.email, NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER users_email_registry_insert AFTER INSERT ON users
+    FOR EACH ROW EXECUTE FUNCTION users_email_registry();
+CREATE TRIGGER users_email_registry_update AFTER UPDATE OF email ON users
+    FOR EACH ROW WHEN (OLD.email IS DISTINCT FROM NEW.email) EXECUTE FUNCTION users_email_registry();
+CREATE TRIGGER users_email_registry_delete AFTER DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION users_email_registry();
+
+-- Bulk copy with the triggers bypassed, then fill the registry in one statement
+SET LOCAL app.partition_maintenance = 'on';
+
+INSERT INTO users (id, first_name, last_name, email, password, apartment_id, block_name, apartment_number,
+                   status, role_id, created_at, status_changed_at, version, last_login_at, last_seen_at)
+SELECT id, first_name, last_name, email, password, apartment_id, block_name, apartment_number,
+       status, role_id, created_at, status_changed_at, version, last_login_at, last_seen_at
+FROM users_unpartitioned;
+
+INSERT INTO user_emails (email, user_id) SELECT email, id FROM users;
+
+SELECT setval('users_partitioned_id_seq', COALESCE((SELECT max(id) FROM users), 0) + 1, false);
+
+ANALYZE users;
+
+COMMIT;
+
+-- After verifying: DROP TABLE users_unpartitioned;
@@ -0,0 +1,11 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization=true)
+
+-- Resident directory search: trigram GIN index over the searchable text, led by apartment_id so a
+-- single index scan covers both the apartment scope and the substring match.
+-- The expression must match UserJdbcRepository.SEARCH_TEXT exactly for the planner to use it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_users_search_trgm ON users USING gin (
+    apartment_id,
+    (lower(first_name || ' ' || last_name || ' ' || email || ' ' || apartment_number)) gin_trgm_ops
+);
@@ -0,0 +1,81 @@
+package com.community.ecommerce.userservice.cache;
+
+import com.community.ecommerce.common.events.CacheInvalidationEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheInvalidationListenerTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Mock
+    private LocalCacheEvictor localCacheEvictor;
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CacheInvalidationListener(localCacheEvictor, "user-service:self", Duration.ofSeconds(30),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void evictsSingleEntry() {
+        listener.onCacheInvalidation(record(CacheInvalidationEvent.evict("User", 7L, "user-service:other"), NOW));
+
+        verify(localCacheEvictor).evict("User", 7L);
+        verifyNoMoreInteractions(localCacheEvictor);
+    }
+
+    @Test
+    void evictsWholeEntityType() {
+        listener.onCacheInvalidation(record(CacheInvalidationEvent.evictAll("User", "user-service:other"), NOW));
+
+        verify(localCacheEvictor).evictAll("User");
+    }
+
+    @Test
+    void ignoresOwnMessages() {
+        listener.onCacheInvalidation(record(CacheInvalidationEvent.evict("User", 7L, "user-service:self"), NOW));
+
+        verifyNoInteractions(localCacheEvictor);
+    }
+
+    @Test
+    void flushesAllOnRequest() {
+        listener.onCacheInvalidation(record(CacheInvalidationEvent.flushAll("user-service:other"), NOW));
+
+        verify(localCacheEvictor).flushAll();
+    }
+
+    @Test
+    void flushesAllOnceWhenLagging() {
+        Instant stale = NOW.minusSeconds(120);
+
+        listener.onCacheInvalidation(record(CacheInvalidationEvent.evict("User", 7L, "user-service:other"), stale));
+        listener.onCacheInvalidation(record(CacheInvalidationEvent.evict("User", 8L, "user-service:other"), stale.plusSeconds(1)));
+
+        verify(localCacheEvictor, times(1)).flushAll();
+        verifyNoMoreInteractions(localCacheEvictor);
+    }
+
+    private static ConsumerRecord<String, CacheInvalidationEvent> record(CacheInvalidationEvent event, Instant sentAt) {
+        return new ConsumerRecord<>("cache-invalidation-events", 0, 0L, sentAt.toEpochMilli(), TimestampType.CREATE_TIME,
+                0, 0, "key", event, new RecordHeaders(), Optional.empty());
+    }
+}
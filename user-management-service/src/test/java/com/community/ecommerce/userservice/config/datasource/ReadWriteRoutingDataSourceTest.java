@@ -0,0 +1,100 @@
+package com.community.ecommerce.userservice.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        DataSource dataSource = routingDataSource("SELECT 0");
+
+        assertThat(currentNode(dataSource, true)).isEqualTo("replica");
+        assertThat(currentNode(dataSource, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToPrimaryWhenReplicaLags() {
+        DataSource dataSource = routingDataSource("SELECT 60");
+
+        assertThat(currentNode(dataSource, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToPrimaryWhenReplicaIsDown() {
+        DataSource dataSource = routingDataSource("SELECT lag FROM missing_table");
+
+        assertThat(currentNode(dataSource, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void replicaIsDroppedOnceLagChecksStopRunning() {
+        Instant checkedAt = Instant.parse("2024-06-01T00:00:00Z");
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(checkedAt, checkedAt.plusSeconds(10), checkedAt.plusSeconds(11));
+        ReplicationLagMonitor monitor = new ReplicationLagMonitor(replica, "SELECT 0", Duration.ofSeconds(5),
+                Duration.ofSeconds(5), clock);
+
+        monitor.checkReplicationLag();
+
+        assertThat(monitor.isReplicaAvailable()).isTrue();
+        assertThat(monitor.isReplicaAvailable()).isFalse();
+    }
+
+    private DataSource routingDataSource(String lagQuery) {
+        ReplicationLagMonitor monitor = new ReplicationLagMonitor(replica, lagQuery, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        monitor.checkReplicationLag();
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor));
+    }
+
+    private String currentNode(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static EmbeddedDatabase embeddedDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -29,9 +30,9 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
-import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -91,9 +92,8 @@ public class UserControllerIT {
     @Test
     void testUserRegistrationFlow() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Register a new user
         UserRegistrationRequest registerRequest = new UserRegistrationRequest(
@@ -112,9 +112,8 @@ public class UserControllerIT {
     @Test
     void testUserRetrievalFlow() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Create an ADMIN user to perform approval
         UserRegistrationRequest adminRegisterRequest = new UserRegistrationRequest(
@@ -186,8 +185,10 @@ public class UserControllerIT {
 
     @Test
     void registerUser_apartmentNotFound_returnsNotFound() throws Exception {
-        // Mock apartment service to throw NOT_FOUND
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
+        // Mock apartment service to throw NOT_FOUND for both the block and the apartment
+        when(restTemplate.headForHeaders(anyString(), eq(99L), eq("Block A")))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.headForHeaders(anyString(), eq(99L)))
                 .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
         UserRegistrationRequest registerRequest = new UserRegistrationRequest(
@@ -204,9 +205,10 @@ public class UserControllerIT {
     @Test
     void registerUser_blockNotFound_returnsNotFound() throws Exception {
         // Mock apartment service response for valid apartment but invalid block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block B", "Block C"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), eq(1L), eq("Block A")))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.headForHeaders(anyString(), eq(1L)))
+                .thenReturn(new HttpHeaders());
 
         UserRegistrationRequest registerRequest = new UserRegistrationRequest(
                 "Alice", "Smith", "alice.smith@example.com", "securePass123", 1L, "Block A", "101");
@@ -222,9 +224,8 @@ public class UserControllerIT {
     @Test
     void getUserById_notFound_returnsNotFound() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Create an ADMIN user to perform the request
         UserRegistrationRequest adminRegisterRequest = new UserRegistrationRequest(
@@ -259,9 +260,8 @@ public class UserControllerIT {
     @Test
     void testUpdateUserFlow() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Create an ADMIN user to perform the update
         UserRegistrationRequest adminRegisterRequest = new UserRegistrationRequest(
@@ -315,9 +315,8 @@ public class UserControllerIT {
     @Test
     void testDeleteUserFlow() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Create an ADMIN user to perform the deletion
         UserRegistrationRequest adminRegisterRequest = new UserRegistrationRequest(
@@ -368,9 +367,8 @@ public class UserControllerIT {
     @Test
     void testChangePasswordFlow() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Create an ADMIN user to perform the password change
         UserRegistrationRequest adminRegisterRequest = new UserRegistrationRequest(
@@ -422,9 +420,8 @@ public class UserControllerIT {
     @Test
     void testApproveUserFlow() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Register a new user (PENDING_USER)
         UserRegistrationRequest registerRequest = new UserRegistrationRequest(
@@ -483,9 +480,8 @@ public class UserControllerIT {
     @Test
     void testRejectUserFlow() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Register a new user (PENDING_USER)
         UserRegistrationRequest registerRequest = new UserRegistrationRequest(
@@ -543,9 +539,8 @@ public class UserControllerIT {
     @Test
     void testApproveUser_unauthorized() throws Exception {
         // Mock apartment service response for valid apartment and block
-        ApartmentDetailsResponse validApartment = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(validApartment);
+        when(restTemplate.headForHeaders(anyString(), any(), any()))
+                .thenReturn(new HttpHeaders());
 
         // 1. Register a new user (PENDING_USER)
         UserRegistrationRequest registerRequest = new UserRegistrationRequest(
@@ -1,9 +1,14 @@
 package com.community.ecommerce.userservice.controller;
 
 import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.dto.ArchivedUserResponse;
+import com.community.ecommerce.userservice.dto.ExportFormat;
+import com.community.ecommerce.userservice.dto.UserBatchRequest;
 import com.community.ecommerce.userservice.dto.PasswordChangeRequest;
+import com.community.ecommerce.userservice.dto.UserPatchRequest;
 import com.community.ecommerce.userservice.dto.UserRegistrationRequest;
 import com.community.ecommerce.userservice.dto.UserResponse;
+import com.community.ecommerce.userservice.dto.UserStatusAuditResponse;
 import com.community.ecommerce.userservice.dto.UserStatusUpdateRequest;
 import com.community.ecommerce.userservice.dto.UserUpdateRequest;
 import com.community.ecommerce.userservice.mapper.UserMapper;
@@ -21,14 +26,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -57,6 +71,7 @@ public class UserControllerTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(userController, "exportTimeout", Duration.ofMinutes(30));
         mockMvc = MockMvcBuilders.standaloneSetup(userController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .build();
@@ -74,10 +89,10 @@ public class UserControllerTest {
 
         userDomain = UserDomain.builder()
                 .id(1L).firstName("John").lastName("Doe").email("john.doe@example.com")
-                .apartmentId(1L).blockName("Block A").apartmentNumber("101").build();
+                .apartmentId(1L).blockName("Block A").apartmentNumber("101").version(0L).build();
 
         userResponse = new UserResponse(
-                1L, "John", "Doe", "john.doe@example.com", 1L, "Block A", "101", null, "PENDING_USER", null);
+                1L, "John", "Doe", "john.doe@example.com", 1L, "Block A", "101", null, "PENDING_USER", null, null, null, 0L);
     }
 
     @Test
@@ -97,36 +112,85 @@ public class UserControllerTest {
 
     @Test
     void getUserById_returnsOk() throws Exception {
-        when(userService.getUserById(anyLong())).thenReturn(userDomain);
-        when(userMapper.toResponse(any(UserDomain.class))).thenReturn(userResponse);
+        when(userService.getUserById(anyLong())).thenReturn(userResponse);
 
         mockMvc.perform(get("/api/v1/users/{id}", 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.id").value(1L));
 
         verify(userService).getUserById(anyLong());
-        verify(userMapper).toResponse(any(UserDomain.class));
+        verifyNoInteractions(userMapper);
     }
 
     @Test
     void getAllUsers_returnsOk() throws Exception {
         Pageable pageable = PageRequest.of(0, 10);
-        when(userService.getAllUsers(any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(userDomain), pageable, 1));
-        when(userMapper.toResponse(any(UserDomain.class))).thenReturn(userResponse);
+        when(userService.getAllUsers(isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(userResponse), pageable, 1));
 
         mockMvc.perform(get("/api/v1/users")
                         .param("page", "0").param("size", "10"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].email").value("john.doe@example.com"));
 
-        verify(userService).getAllUsers(any(Pageable.class));
-        verify(userMapper, times(1)).toResponse(any(UserDomain.class));
+        verify(userService).getAllUsers(isNull(), isNull(), any(Pageable.class));
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    void getAllUsers_withFilters_passesFiltersToService() throws Exception {
+        when(userService.getAllUsers(eq(1L), eq(UserStatus.APPROVED), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(userResponse), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/v1/users")
+                        .param("apartmentId", "1").param("status", "APPROVED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L));
+
+        verify(userService).getAllUsers(eq(1L), eq(UserStatus.APPROVED), any(Pageable.class));
+    }
+
+    @Test
+    void searchUsers_returnsOk() throws Exception {
+        when(userService.searchUsers(eq(1L), eq("doe"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(userResponse), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/v1/users/search")
+                        .param("apartmentId", "1").param("q", "doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("john.doe@example.com"));
+
+        verify(userService).searchUsers(eq(1L), eq("doe"), any(Pageable.class));
+    }
+
+    @Test
+    void getUsersByIds_returnsUsersAndNotFoundIds() throws Exception {
+        when(userService.getUsersByIds(List.of(1L, 42L))).thenReturn(List.of(userResponse));
+
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserBatchRequest(List.of(1L, 42L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id").value(1L))
+                .andExpect(jsonPath("$.notFoundIds[0]").value(42L));
+
+        verify(userService).getUsersByIds(List.of(1L, 42L));
+    }
+
+    @Test
+    void getUsersByIds_withEmptyIds_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
     }
 
     @Test
     void updateUser_returnsOk() throws Exception {
-        when(userService.updateUser(anyLong(), any(UserUpdateRequest.class))).thenReturn(userDomain);
+        when(userService.updateUser(anyLong(), any(UserUpdateRequest.class), any())).thenReturn(userDomain);
         when(userMapper.toResponse(any(UserDomain.class))).thenReturn(userResponse);
 
         mockMvc.perform(put("/api/v1/users/{id}", 1L)
@@ -135,10 +199,63 @@ public class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value("john.doe@example.com"));
 
-        verify(userService).updateUser(anyLong(), any(UserUpdateRequest.class));
+        verify(userService).updateUser(anyLong(), any(UserUpdateRequest.class), isNull());
         verify(userMapper).toResponse(any(UserDomain.class));
     }
 
+    @Test
+    void updateUser_passesIfMatchVersion() throws Exception {
+        when(userService.updateUser(anyLong(), any(UserUpdateRequest.class), any())).thenReturn(userDomain);
+        when(userMapper.toResponse(any(UserDomain.class))).thenReturn(userResponse);
+
+        mockMvc.perform(put("/api/v1/users/{id}", 1L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        verify(userService).updateUser(eq(1L), any(UserUpdateRequest.class), eq(3L));
+    }
+
+    @Test
+    void patchUser_passesIfMatchVersionAndReturnsETag() throws Exception {
+        UserDomain patchedUserDomain = UserDomain.builder()
+                .id(1L).firstName("John").lastName("Doe").email("john.doe@example.com")
+                .apartmentId(1L).blockName("Block A").apartmentNumber("202").version(4L).build();
+        when(userService.patchUser(anyLong(), any(UserPatchRequest.class), any())).thenReturn(patchedUserDomain);
+        when(userMapper.toResponse(any(UserDomain.class))).thenReturn(userResponse);
+
+        mockMvc.perform(patch("/api/v1/users/{id}", 1L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserPatchRequest(null, null, null, null, "202"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(userService).patchUser(eq(1L), eq(new UserPatchRequest(null, null, null, null, "202")), eq(3L));
+    }
+
+    @Test
+    void patchUser_withWeakIfMatch_returnsPreconditionFailed() throws Exception {
+        mockMvc.perform(patch("/api/v1/users/{id}", 1L)
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserPatchRequest(null, null, null, null, "202"))))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void patchUser_withBlankField_returnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/users/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserPatchRequest(" ", null, null, null, null))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
     @Test
     void deleteUser_returnsNoContent() throws Exception {
         doNothing().when(userService).deleteUser(anyLong());
@@ -169,7 +286,7 @@ public class UserControllerTest {
                 .status(UserStatus.APPROVED).build(); // Set status to APPROVED
 
         UserResponse approvedUserResponse = new UserResponse(
-                1L, "John", "Doe", "john.doe@example.com", 1L, "Block A", "101", UserStatus.APPROVED, "RESIDENT", null);
+                1L, "John", "Doe", "john.doe@example.com", 1L, "Block A", "101", UserStatus.APPROVED, "RESIDENT", null, null, null, 0L);
 
         when(userService.approveOrRejectUser(anyLong(), any(UserStatusUpdateRequest.class))).thenReturn(approvedUserDomain);
         when(userMapper.toResponse(any(UserDomain.class))).thenReturn(approvedUserResponse);
@@ -183,4 +300,81 @@ public class UserControllerTest {
         verify(userService).approveOrRejectUser(anyLong(), any(UserStatusUpdateRequest.class));
         verify(userMapper).toResponse(any(UserDomain.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getStatusHistory_returnsOk() throws Exception {
+        UserStatusAuditResponse entry = new UserStatusAuditResponse(5L, 1L, 1L, UserStatus.PENDING_APPROVAL,
+                UserStatus.APPROVED, "PENDING_USER", "RESIDENT", "admin@example.com", null);
+        when(userService.getStatusHistory(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(entry), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/v1/users/{id}/status-history", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].newStatus").value("APPROVED"))
+                .andExpect(jsonPath("$.content[0].changedBy").value("admin@example.com"));
+
+        verify(userService).getStatusHistory(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void getApartmentStatusHistory_returnsOk() throws Exception {
+        when(userService.getApartmentStatusHistory(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 20), 0));
+
+        mockMvc.perform(get("/api/v1/users/status-history").param("apartmentId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+
+        verify(userService).getApartmentStatusHistory(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void getArchivedUsers_returnsOk() throws Exception {
+        ArchivedUserResponse archivedUser = new ArchivedUserResponse(9L, "John", "Doe", "john.doe@example.com", 1L,
+                "Block A", "101", UserStatus.REJECTED, "PENDING_USER", null, null);
+        when(userService.getArchivedUsers(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(archivedUser), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/v1/users/archive").param("apartmentId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(9L))
+                .andExpect(jsonPath("$.content[0].status").value("REJECTED"));
+
+        verify(userService).getArchivedUsers(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void getArchivedUserById_returnsOk() throws Exception {
+        when(userService.getArchivedUserById(9L)).thenReturn(new ArchivedUserResponse(9L, "John", "Doe",
+                "john.doe@example.com", 1L, "Block A", "101", UserStatus.REJECTED, "PENDING_USER", null, null));
+
+        mockMvc.perform(get("/api/v1/users/archive/{id}", 9L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("john.doe@example.com"));
+
+        verify(userService).getArchivedUserById(9L);
+    }
+
+    @Test
+    void exportUsers_streamsRequestedFormat() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("id,email\n1,john.doe@example.com\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userService).exportUsers(eq(1L), isNull(), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/users/export")
+                        .param("apartmentId", "1").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The export carries its own timeout rather than relying on a global one
+        assertThat(mvcResult.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(content().string("id,email\n1,john.doe@example.com\n"));
+
+        verify(userService).exportUsers(eq(1L), isNull(), eq(ExportFormat.CSV), any(OutputStream.class));
+    }
+}
@@ -0,0 +1,69 @@
+package com.community.ecommerce.userservice.controller;
+
+import com.community.ecommerce.userservice.dto.UserPartitionResponse;
+import com.community.ecommerce.userservice.service.UserPartitionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPartitionControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private UserPartitionManager userPartitionManager;
+
+    @InjectMocks
+    private UserPartitionController userPartitionController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(userPartitionController).build();
+    }
+
+    @Test
+    void listPartitions_returnsOk() throws Exception {
+        when(userPartitionManager.listPartitions()).thenReturn(List.of(
+                new UserPartitionResponse("users_apt_1", "FOR VALUES IN ('1')", 1200L),
+                new UserPartitionResponse("users_default", "DEFAULT", 50000L)));
+
+        mockMvc.perform(get("/api/v1/users/partitions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("users_apt_1"))
+                .andExpect(jsonPath("$[1].bound").value("DEFAULT"));
+
+        verify(userPartitionManager).listPartitions();
+    }
+
+    @Test
+    void createPartition_returnsOk() throws Exception {
+        when(userPartitionManager.createPartition(7L))
+                .thenReturn(new UserPartitionResponse("users_apt_7", "FOR VALUES IN ('7')", 300L));
+
+        mockMvc.perform(post("/api/v1/users/partitions/{apartmentId}", 7L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("users_apt_7"));
+
+        verify(userPartitionManager).createPartition(7L);
+    }
+
+    @Test
+    void detachPartition_returnsNoContent() throws Exception {
+        mockMvc.perform(delete("/api/v1/users/partitions/{apartmentId}", 7L))
+                .andExpect(status().isNoContent());
+
+        verify(userPartitionManager).detachPartition(7L);
+    }
+}
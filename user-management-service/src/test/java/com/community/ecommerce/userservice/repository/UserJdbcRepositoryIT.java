@@ -0,0 +1,88 @@
+package com.community.ecommerce.userservice.repository;
+
+import com.community.ecommerce.userservice.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// archiveBatch is PostgreSQL-only (DELETE ... RETURNING in a CTE, SKIP LOCKED), so it runs against a real server
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Import(UserJdbcRepository.class)
+public class UserJdbcRepositoryIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long roleId;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        roleId = roleRepository.save(Role.builder().name("PENDING_USER").build()).getId();
+    }
+
+    @Test
+    void archiveBatch_agesRejectedUsersFromTheRejection() {
+        insertUser("old-rejected-recently@example.com", "REJECTED", NOW.minusYears(1), NOW.minusDays(1));
+        insertUser("rejected-long-ago@example.com", "REJECTED", NOW.minusYears(1), NOW.minusDays(60));
+        // Rejected before status_changed_at was tracked: falls back to created_at
+        insertUser("legacy-rejected@example.com", "REJECTED", NOW.minusYears(1), null);
+
+        int archived = userJdbcRepository.archiveBatch(NOW.minusDays(30), NOW.minusDays(90), 100);
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(emails("SELECT email FROM users"))
+                .containsExactly("old-rejected-recently@example.com");
+        assertThat(emails("SELECT email FROM users_archive"))
+                .containsExactlyInAnyOrder("rejected-long-ago@example.com", "legacy-rejected@example.com");
+    }
+
+    private void insertUser(String email, String status, LocalDateTime createdAt, LocalDateTime statusChangedAt) {
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, apartment_id, block_name," +
+                        " apartment_number, status, role_id, created_at, status_changed_at, version)" +
+                        " VALUES ('Jane', 'Doe', ?, 'hashed', 1, 'A', '101', ?, ?, ?, ?, 0)",
+                email, status, roleId, Timestamp.valueOf(createdAt),
+                statusChangedAt != null ? Timestamp.valueOf(statusChangedAt) : null);
+    }
+
+    private List<String> emails(String sql) {
+        return jdbcTemplate.queryForList(sql, String.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.model.UserActivity;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserActivityTrackerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    // Stands in for the task scheduler: early flushes are queued here and only run when the test says so
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    private UserActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-02T03:04:05Z"), ZoneOffset.UTC);
+        tracker = new UserActivityTracker(userJdbcRepository, 100, scheduled::add, clock);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_coalescesRepeatHitsIntoOneBatch() {
+        tracker.recordLogin(1L);
+        tracker.recordSeen(1L);
+        tracker.recordSeen(1L);
+        tracker.recordSeen(2L);
+
+        tracker.flush();
+
+        ArgumentCaptor<Map<Long, UserActivity>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(userJdbcRepository).updateActivity(batch.capture());
+        assertThat(batch.getValue()).containsOnly(
+                Map.entry(1L, new UserActivity(NOW, NOW)),
+                Map.entry(2L, new UserActivity(null, NOW)));
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    @Test
+    void flush_withNothingPending_skipsDatabase() {
+        tracker.flush();
+
+        verifyNoInteractions(userJdbcRepository);
+    }
+
+    @Test
+    void flush_failure_keepsActivityForNextFlush() {
+        when(userJdbcRepository.updateActivity(anyMap())).thenThrow(new RuntimeException("database down")).thenReturn(1);
+        tracker.recordSeen(1L);
+
+        tracker.flush();
+        assertThat(tracker.pendingCount()).isEqualTo(1);
+
+        tracker.flush();
+        assertThat(tracker.pendingCount()).isZero();
+        verify(userJdbcRepository, times(2)).updateActivity(anyMap());
+    }
+
+    @Test
+    void record_reachingMaxPending_flushesEarlyOnTheScheduler() {
+        tracker = new UserActivityTracker(userJdbcRepository, 2, scheduled::add, Clock.systemUTC());
+
+        tracker.recordSeen(1L);
+        tracker.recordSeen(2L);
+        tracker.recordSeen(3L);
+        verifyNoInteractions(userJdbcRepository);
+        assertThat(scheduled).hasSize(1);
+
+        scheduled.remove(0).run();
+        verify(userJdbcRepository).updateActivity(anyMap());
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    @Test
+    void flush_failure_capsPendingAndDropsLeastRecentlySeen() {
+        when(userJdbcRepository.updateActivity(anyMap())).thenThrow(new RuntimeException("database down"));
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        Instant start = Instant.parse("2024-01-02T03:04:05Z");
+        when(clock.instant()).thenReturn(start, start.plusSeconds(1), start.plusSeconds(2));
+        tracker = new UserActivityTracker(userJdbcRepository, 2, scheduled::add, clock);
+        tracker.recordSeen(1L);
+        tracker.recordSeen(2L);
+        scheduled.clear();
+        tracker.recordSeen(3L);
+
+        tracker.flush();
+        assertThat(tracker.pendingCount()).isEqualTo(2);
+
+        // New users are dropped while the database is failing; users already pending still update
+        tracker.recordSeen(4L);
+        tracker.recordSeen(3L);
+        assertThat(tracker.pendingCount()).isEqualTo(2);
+        assertThat(scheduled).isEmpty();
+
+        reset(userJdbcRepository);
+        tracker.flush();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, UserActivity>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(userJdbcRepository).updateActivity(batch.capture());
+        assertThat(batch.getValue()).containsOnlyKeys(2L, 3L);
+    }
+
+    @Test
+    void merge_keepsLatestTimestamps() {
+        UserActivity older = new UserActivity(NOW.minusHours(1), NOW.minusMinutes(5));
+        UserActivity newer = new UserActivity(null, NOW);
+
+        assertThat(older.merge(newer)).isEqualTo(new UserActivity(NOW.minusHours(1), NOW));
+        assertThat(newer.merge(older)).isEqualTo(new UserActivity(NOW.minusHours(1), NOW));
+    }
+}
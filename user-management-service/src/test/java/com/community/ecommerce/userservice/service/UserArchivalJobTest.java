@@ -0,0 +1,88 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.cache.CacheInvalidationPublisher;
+import com.community.ecommerce.userservice.entity.User;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserArchivalJobTest {
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache cache;
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @Test
+    void archive_runsBatchesUntilPartialBatch() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(userJdbcRepository.archiveBatch(any(), any(), anyInt())).thenReturn(10, 10, 3);
+
+        int archived = job(10, 100).archive();
+
+        assertThat(archived).isEqualTo(23);
+        verify(userJdbcRepository, times(3)).archiveBatch(
+                LocalDateTime.of(2024, 5, 2, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0), 10);
+        verify(cache).evict(User.class);
+        verify(cacheInvalidationPublisher).publishEvictAll("User");
+        assertThat(meterRegistry.counter("users.archival.archived").count()).isEqualTo(23);
+        assertThat(meterRegistry.timer("users.archival.batch").count()).isEqualTo(3);
+        assertThat(meterRegistry.get("users.archival.last-run.archived").gauge().value()).isEqualTo(23);
+    }
+
+    @Test
+    void archive_stopsAtMaxBatchesPerRun() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(userJdbcRepository.archiveBatch(any(), any(), anyInt())).thenReturn(10);
+
+        int archived = job(10, 2).archive();
+
+        assertThat(archived).isEqualTo(20);
+        verify(userJdbcRepository, times(2)).archiveBatch(any(), any(), anyInt());
+    }
+
+    @Test
+    void archive_withNothingToArchive_leavesCacheAlone() {
+        when(userJdbcRepository.archiveBatch(any(), any(), anyInt())).thenReturn(0);
+
+        int archived = job(10, 100).archive();
+
+        assertThat(archived).isZero();
+        verifyNoInteractions(entityManagerFactory, cacheInvalidationPublisher);
+    }
+
+    private UserArchivalJob job(int batchSize, int maxBatchesPerRun) {
+        return new UserArchivalJob(userJdbcRepository, entityManagerFactory, cacheInvalidationPublisher, meterRegistry, clock,
+                batchSize, maxBatchesPerRun, 0, 30, 90);
+    }
+}
@@ -0,0 +1,59 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.dto.ExportFormat;
+import com.community.ecommerce.userservice.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserExportWriterTest {
+
+    private ObjectMapper objectMapper;
+    private UserResponse user;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        user = new UserResponse(1L, "John", "Doe, Jr.", "john.doe@example.com", 1L, "Block \"A\"", "101",
+                UserStatus.APPROVED, "RESIDENT", LocalDateTime.of(2024, 1, 2, 3, 4, 5), null, null, 0L);
+    }
+
+    @Test
+    void csv_writesHeaderAndEscapesValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (UserExportWriter writer = new UserExportWriter(ExportFormat.CSV, out, objectMapper)) {
+            writer.write(user);
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,firstName,lastName,email,apartmentId,blockName,apartmentNumber,status,roleName,createdAt\n" +
+                "1,John,\"Doe, Jr.\",john.doe@example.com,1,\"Block \"\"A\"\"\",101,APPROVED,RESIDENT,2024-01-02T03:04:05\n");
+    }
+
+    @Test
+    void ndjson_writesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (UserExportWriter writer = new UserExportWriter(ExportFormat.NDJSON, out, objectMapper)) {
+            writer.write(user);
+            writer.write(user);
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("email").asText()).isEqualTo("john.doe@example.com");
+        assertThat(objectMapper.readTree(lines[1]).get("createdAt").asText()).isEqualTo("2024-01-02T03:04:05");
+    }
+}
@@ -0,0 +1,22 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.userservice.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UserPartitionManagerTest {
+
+    @Test
+    void partitionName_usesApartmentId() {
+        assertThat(UserPartitionManager.partitionName(7L)).isEqualTo("users_apt_7");
+    }
+
+    @Test
+    void partitionName_rejectsNonPositiveApartmentId() {
+        assertThrows(InvalidRequestException.class, () -> UserPartitionManager.partitionName(0L));
+        assertThrows(InvalidRequestException.class, () -> UserPartitionManager.partitionName(-3L));
+        assertThrows(InvalidRequestException.class, () -> UserPartitionManager.partitionName(null));
+    }
+}
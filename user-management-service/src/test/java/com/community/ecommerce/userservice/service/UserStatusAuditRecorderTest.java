@@ -0,0 +1,121 @@
+package com.community.ecommerce.userservice.service;
+
+import com.community.ecommerce.common.events.UserStatus;
+import com.community.ecommerce.userservice.entity.UserStatusAudit;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserStatusAuditRecorderTest {
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    private UserStatusAuditRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new UserStatusAuditRecorder(userJdbcRepository, 2, 3, 3);
+    }
+
+    @Test
+    void record_doesNotTouchDatabase() {
+        recorder.record(audit(1L));
+
+        verifyNoInteractions(userJdbcRepository);
+        assertThat(recorder.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_writesQueuedEntriesInBatches() {
+        UserStatusAudit first = audit(1L);
+        UserStatusAudit second = audit(2L);
+        UserStatusAudit third = audit(3L);
+        recorder.record(first);
+        recorder.record(second);
+        recorder.record(third);
+
+        recorder.flush();
+
+        verify(userJdbcRepository).insertStatusAudits(List.of(first, second));
+        verify(userJdbcRepository).insertStatusAudits(List.of(third));
+        assertThat(recorder.pendingCount()).isZero();
+    }
+
+    @Test
+    void flush_failure_keepsEntriesForNextFlush() {
+        doThrow(new RuntimeException("database down")).doNothing().when(userJdbcRepository).insertStatusAudits(anyList());
+        recorder.record(audit(1L));
+
+        recorder.flush();
+        assertThat(recorder.pendingCount()).isEqualTo(1);
+
+        recorder.flush();
+        assertThat(recorder.pendingCount()).isZero();
+        verify(userJdbcRepository, times(2)).insertStatusAudits(anyList());
+    }
+
+    @Test
+    void record_withFullQueue_dropsEntry() {
+        recorder.record(audit(1L));
+        recorder.record(audit(2L));
+        recorder.record(audit(3L));
+
+        recorder.record(audit(4L));
+
+        assertThat(recorder.pendingCount()).isEqualTo(3);
+        assertThat(recorder.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_rowThatAlwaysFails_isDroppedAfterMaxAttempts() {
+        UserStatusAudit good = audit(1L);
+        UserStatusAudit poison = audit(2L);
+        doAnswer(invocation -> {
+            List<UserStatusAudit> entries = invocation.getArgument(0);
+            if (entries.contains(poison)) {
+                throw new RuntimeException("value too long");
+            }
+            return null;
+        }).when(userJdbcRepository).insertStatusAudits(anyList());
+        recorder.record(good);
+        recorder.record(poison);
+
+        recorder.flush();
+        recorder.flush();
+        assertThat(recorder.pendingCount()).isEqualTo(2);
+
+        recorder.flush();
+        verify(userJdbcRepository, times(3)).insertStatusAudits(List.of(good, poison));
+        verify(userJdbcRepository).insertStatusAudits(List.of(good));
+        verify(userJdbcRepository).insertStatusAudits(List.of(poison));
+        assertThat(recorder.pendingCount()).isZero();
+        assertThat(recorder.droppedCount()).isEqualTo(1);
+
+        // Later entries are no longer held up behind the poison row
+        UserStatusAudit next = audit(3L);
+        recorder.record(next);
+        recorder.flush();
+        verify(userJdbcRepository).insertStatusAudits(List.of(next));
+    }
+
+    private static UserStatusAudit audit(Long userId) {
+        return UserStatusAudit.builder()
+                .userId(userId).apartmentId(1L)
+                .oldStatus(UserStatus.PENDING_APPROVAL).newStatus(UserStatus.APPROVED)
+                .oldRoleName("PENDING_USER").newRoleName("RESIDENT")
+                .changedBy("admin@example.com").changedAt(LocalDateTime.now())
+                .build();
+    }
+}
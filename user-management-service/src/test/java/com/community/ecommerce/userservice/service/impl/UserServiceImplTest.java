@@ -1,23 +1,33 @@
 package com.community.ecommerce.userservice.service.impl;
 
 import com.community.ecommerce.common.events.UserStatus;
-import com.community.ecommerce.userservice.dto.ApartmentDetailsResponse;
+import com.community.ecommerce.userservice.dto.ArchivedUserResponse;
+import com.community.ecommerce.userservice.dto.UserPatchRequest;
 import com.community.ecommerce.userservice.dto.UserRegistrationRequest;
+import com.community.ecommerce.userservice.dto.UserResponse;
+import com.community.ecommerce.userservice.dto.UserStatusAuditResponse;
 import com.community.ecommerce.userservice.dto.UserStatusUpdateRequest;
 import com.community.ecommerce.userservice.dto.UserUpdateRequest;
 import com.community.ecommerce.userservice.entity.Role;
 import com.community.ecommerce.userservice.entity.User;
+import com.community.ecommerce.userservice.entity.UserStatusAudit;
+import com.community.ecommerce.userservice.exception.PreconditionFailedException;
 import com.community.ecommerce.userservice.exception.ResourceNotFoundException;
 import com.community.ecommerce.userservice.mapper.UserMapper;
 import com.community.ecommerce.userservice.model.RoleDomain;
 import com.community.ecommerce.userservice.model.UserDomain;
+import com.community.ecommerce.userservice.repository.ArchivedUserRepository;
 import com.community.ecommerce.userservice.repository.RoleRepository;
+import com.community.ecommerce.userservice.repository.UserJdbcRepository;
 import com.community.ecommerce.userservice.repository.UserRepository;
+import com.community.ecommerce.userservice.repository.UserStatusAuditRepository;
 import com.community.ecommerce.userservice.service.UserEventProducer;
 import com.community.ecommerce.userservice.service.UserService;
+import com.community.ecommerce.userservice.service.UserStatusAuditRecorder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,6 +35,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.HttpClientErrorException;
@@ -54,6 +65,14 @@ public class UserServiceImplTest {
     private RestTemplate restTemplate;
     @Mock
     private UserEventProducer userEventProducer;
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+    @Mock
+    private UserStatusAuditRepository userStatusAuditRepository;
+    @Mock
+    private UserStatusAuditRecorder userStatusAuditRecorder;
+    @Mock
+    private ArchivedUserRepository archivedUserRepository;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -63,6 +82,7 @@ public class UserServiceImplTest {
     private UserDomain userDomain;
     private Role defaultRoleEntity;
     private RoleDomain defaultRoleDomain;
+    private UserResponse userResponse;
 
     @BeforeEach
     void setUp() {
@@ -83,6 +103,7 @@ public class UserServiceImplTest {
                 .apartmentNumber("101")
                 .status(UserStatus.PENDING_APPROVAL)
                 .role(defaultRoleEntity)
+                .version(0L)
                 .build();
 
         userDomain = UserDomain.builder()
@@ -96,7 +117,11 @@ public class UserServiceImplTest {
                 .apartmentNumber("101")
                 .status(UserStatus.PENDING_APPROVAL)
                 .role(defaultRoleDomain)
+                .version(0L)
                 .build();
+
+        userResponse = new UserResponse(
+                1L, "John", "Doe", "john.doe@example.com", 1L, "Block A", "101", UserStatus.PENDING_APPROVAL, "PENDING_USER", null, null, null, 0L);
     }
 
     @Test
@@ -111,9 +136,8 @@ public class UserServiceImplTest {
         when(userRepository.save(any(User.class))).thenReturn(userEntity);
         when(userMapper.toDomain(any(User.class))).thenReturn(userDomain);
 
-        ApartmentDetailsResponse apartmentDetails = new ApartmentDetailsResponse(1L, List.of("Block A", "Block B"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(apartmentDetails);
+        when(restTemplate.headForHeaders(anyString(), eq(1L), eq("Block A")))
+                .thenReturn(new HttpHeaders());
 
         // Act
         UserDomain result = userService.registerUser(registrationRequest);
@@ -124,7 +148,7 @@ public class UserServiceImplTest {
         assertThat(result.getStatus()).isEqualTo(UserStatus.PENDING_APPROVAL);
         assertThat(result.getRole().getName()).isEqualTo("PENDING_USER");
         verify(userRepository).existsByEmail(registrationRequest.email());
-        verify(restTemplate).getForObject(anyString(), eq(ApartmentDetailsResponse.class));
+        verify(restTemplate).headForHeaders(anyString(), eq(1L), eq("Block A"));
         verify(passwordEncoder).encode(registrationRequest.password());
         verify(roleRepository).findByName("PENDING_USER");
         verify(userRepository).save(any(User.class));
@@ -151,15 +175,19 @@ public class UserServiceImplTest {
     void registerUser_apartmentNotFound_throwsException() {
         // Arrange
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
+        when(restTemplate.headForHeaders(anyString(), eq(1L), eq("Block A")))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.headForHeaders(anyString(), eq(1L)))
                 .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> {
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> {
             userService.registerUser(registrationRequest);
         });
+        assertThat(ex.getMessage()).contains("not onboarded");
         verify(userRepository).existsByEmail(registrationRequest.email());
-        verify(restTemplate).getForObject(anyString(), eq(ApartmentDetailsResponse.class));
+        verify(restTemplate).headForHeaders(anyString(), eq(1L), eq("Block A"));
+        verify(restTemplate).headForHeaders(anyString(), eq(1L));
         verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
     }
 
@@ -167,46 +195,47 @@ public class UserServiceImplTest {
     void registerUser_blockNotFound_throwsException() {
         // Arrange
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        ApartmentDetailsResponse apartmentDetails = new ApartmentDetailsResponse(1L, List.of("Block B", "Block C"));
-        when(restTemplate.getForObject(anyString(), eq(ApartmentDetailsResponse.class)))
-                .thenReturn(apartmentDetails);
+        when(restTemplate.headForHeaders(anyString(), eq(1L), eq("Block A")))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.headForHeaders(anyString(), eq(1L)))
+                .thenReturn(new HttpHeaders());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> {
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> {
             userService.registerUser(registrationRequest);
         });
+        assertThat(ex.getMessage()).isEqualTo("Block 'Block A' not found in Apartment with ID 1.");
         verify(userRepository).existsByEmail(registrationRequest.email());
-        verify(restTemplate).getForObject(anyString(), eq(ApartmentDetailsResponse.class));
+        verify(restTemplate).headForHeaders(anyString(), eq(1L), eq("Block A"));
+        verify(restTemplate).headForHeaders(anyString(), eq(1L));
         verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
     }
 
     @Test
     void getUserById_success() {
         // Arrange
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userEntity));
-        when(userMapper.toDomain(any(User.class))).thenReturn(userDomain);
+        when(userRepository.findResponseById(anyLong())).thenReturn(Optional.of(userResponse));
 
         // Act
-        UserDomain result = userService.getUserById(1L);
+        UserResponse result = userService.getUserById(1L);
 
         // Assert
         assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(1L);
-        verify(userRepository).findById(1L);
-        verify(userMapper).toDomain(userEntity);
+        assertThat(result.id()).isEqualTo(1L);
+        verify(userRepository).findResponseById(1L);
         verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
     }
 
     @Test
     void getUserById_notFound_throwsException() {
         // Arrange
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findResponseById(anyLong())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.getUserById(1L);
         });
-        verify(userRepository).findById(1L);
+        verify(userRepository).findResponseById(1L);
         verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
     }
 
@@ -214,19 +243,73 @@ public class UserServiceImplTest {
     void getAllUsers_success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<User> userPage = new PageImpl<>(List.of(userEntity), pageable, 1);
-        when(userRepository.findAll(pageable)).thenReturn(userPage);
-        when(userMapper.toDomain(any(User.class))).thenReturn(userDomain);
+        Page<UserResponse> userPage = new PageImpl<>(List.of(userResponse), pageable, 1);
+        when(userRepository.findResponsesByApartmentId(1L, UserStatus.PENDING_APPROVAL, pageable)).thenReturn(userPage);
 
         // Act
-        Page<UserDomain> result = userService.getAllUsers(pageable);
+        Page<UserResponse> result = userService.getAllUsers(1L, UserStatus.PENDING_APPROVAL, pageable);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getEmail()).isEqualTo("john.doe@example.com");
-        verify(userRepository).findAll(pageable);
-        verify(userMapper, times(1)).toDomain(userEntity);
+        assertThat(result.getContent().get(0).email()).isEqualTo("john.doe@example.com");
+        verify(userRepository).findResponsesByApartmentId(1L, UserStatus.PENDING_APPROVAL, pageable);
+        verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
+    }
+
+    @Test
+    void getAllUsers_withoutApartment_usesUnscopedQuery() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userRepository.findResponses(null, null, pageable)).thenReturn(new PageImpl<>(List.of(userResponse), pageable, 1));
+
+        // Act
+        Page<UserResponse> result = userService.getAllUsers(null, null, pageable);
+
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        verify(userRepository).findResponses(null, null, pageable);
+        verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
+    }
+
+    @Test
+    void searchUsers_trimsQueryAndDelegatesToIndexedSearch() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userJdbcRepository.searchUsers(1L, "john", pageable)).thenReturn(new PageImpl<>(List.of(userResponse), pageable, 1));
+
+        // Act
+        Page<UserResponse> result = userService.searchUsers(1L, "  john ", pageable);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(userResponse);
+        verify(userJdbcRepository).searchUsers(1L, "john", pageable);
+        verifyNoMoreInteractions(userJdbcRepository, userRepository);
+    }
+
+    @Test
+    void searchUsers_blankQuery_returnsEmptyPage() {
+        // Act
+        Page<UserResponse> result = userService.searchUsers(1L, "   ", PageRequest.of(0, 20));
+
+        // Assert
+        assertThat(result.getContent()).isEmpty();
+        verifyNoInteractions(userJdbcRepository, userRepository);
+    }
+
+    @Test
+    void getUsersByIds_returnsFoundUsersInRequestedOrder() {
+        // Arrange
+        UserResponse secondUserResponse = new UserResponse(
+                2L, "Jane", "Doe", "jane.doe@example.com", 1L, "Block B", "202", UserStatus.APPROVED, "RESIDENT", null, null, null, 0L);
+        when(userRepository.findResponsesByIdIn(any())).thenReturn(List.of(userResponse, secondUserResponse));
+
+        // Act
+        List<UserResponse> result = userService.getUsersByIds(List.of(2L, 99L, 1L, 2L));
+
+        // Assert
+        assertThat(result).extracting(UserResponse::id).containsExactly(2L, 1L);
+        verify(userRepository).findResponsesByIdIn(any());
         verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
     }
 
@@ -248,7 +331,7 @@ public class UserServiceImplTest {
         when(userMapper.toDomain(any(User.class))).thenReturn(updatedUserDomain);
 
         // Act
-        UserDomain result = userService.updateUser(1L, updateRequest);
+        UserDomain result = userService.updateUser(1L, updateRequest, null);
 
         // Assert
         assertThat(result).isNotNull();
@@ -268,12 +351,79 @@ public class UserServiceImplTest {
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
-            userService.updateUser(1L, updateRequest);
+            userService.updateUser(1L, updateRequest, null);
+        });
+        verify(userRepository).findById(1L);
+        verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
+    }
+
+    @Test
+    void updateUser_staleVersion_throwsPreconditionFailed() {
+        // Arrange
+        UserUpdateRequest updateRequest = new UserUpdateRequest("Jane", "Doe", "jane.doe@example.com", "Block B", "202");
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userEntity));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> {
+            userService.updateUser(1L, updateRequest, 3L);
         });
+        assertThat(userEntity.getFirstName()).isEqualTo("John");
         verify(userRepository).findById(1L);
         verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
     }
 
+    @Test
+    void patchUser_updatesOnlySuppliedFields() {
+        // Arrange
+        UserPatchRequest patchRequest = new UserPatchRequest(null, null, null, null, "202");
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userEntity));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toDomain(any(User.class))).thenReturn(userDomain);
+
+        // Act
+        userService.patchUser(1L, patchRequest, 0L);
+
+        // Assert
+        assertThat(userEntity.getApartmentNumber()).isEqualTo("202");
+        assertThat(userEntity.getFirstName()).isEqualTo("John");
+        assertThat(userEntity.getEmail()).isEqualTo("john.doe@example.com");
+        verify(userRepository).findById(1L);
+        verify(userRepository).saveAndFlush(userEntity);
+        verify(userMapper).toDomain(userEntity);
+        verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
+    }
+
+    @Test
+    void patchUser_staleVersion_throwsPreconditionFailed() {
+        // Arrange
+        UserPatchRequest patchRequest = new UserPatchRequest("Jane", null, null, null, null);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userEntity));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> {
+            userService.patchUser(1L, patchRequest, 3L);
+        });
+        assertThat(userEntity.getFirstName()).isEqualTo("John");
+        verify(userRepository).findById(1L);
+        verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
+    }
+
+    @Test
+    void patchUser_emailTaken_throwsException() {
+        // Arrange
+        UserPatchRequest patchRequest = new UserPatchRequest(null, null, "jane.doe@example.com", null, null);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(userEntity));
+        when(userRepository.existsByEmail("jane.doe@example.com")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            userService.patchUser(1L, patchRequest, null);
+        });
+        verify(userRepository).findById(1L);
+        verify(userRepository).existsByEmail("jane.doe@example.com");
+        verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
+    }
+
     @Test
     void deleteUser_success() {
         // Arrange
@@ -384,6 +534,61 @@ public class UserServiceImplTest {
         verify(userRepository).save(any(User.class));
         verify(userMapper).toDomain(any(User.class));
         verifyNoMoreInteractions(userRepository, restTemplate, passwordEncoder, roleRepository, userMapper);
+
+        ArgumentCaptor<UserStatusAudit> audit = ArgumentCaptor.forClass(UserStatusAudit.class);
+        verify(userStatusAuditRecorder).record(audit.capture());
+        assertThat(audit.getValue().getUserId()).isEqualTo(1L);
+        assertThat(audit.getValue().getOldStatus()).isEqualTo(UserStatus.PENDING_APPROVAL);
+        assertThat(audit.getValue().getNewStatus()).isEqualTo(UserStatus.APPROVED);
+        assertThat(audit.getValue().getOldRoleName()).isEqualTo("PENDING_USER");
+        assertThat(audit.getValue().getNewRoleName()).isEqualTo("RESIDENT");
+        assertThat(audit.getValue().getChangedAt()).isNotNull();
+    }
+
+    @Test
+    void getArchivedUserById_success() {
+        // Arrange
+        ArchivedUserResponse archivedUser = new ArchivedUserResponse(1L, "John", "Doe", "john.doe@example.com", 1L,
+                "Block A", "101", UserStatus.REJECTED, "PENDING_USER", null, null);
+        when(archivedUserRepository.findResponseById(1L)).thenReturn(Optional.of(archivedUser));
+
+        // Act
+        ArchivedUserResponse result = userService.getArchivedUserById(1L);
+
+        // Assert
+        assertThat(result).isEqualTo(archivedUser);
+        verify(archivedUserRepository).findResponseById(1L);
+        verifyNoMoreInteractions(archivedUserRepository, userRepository);
+    }
+
+    @Test
+    void getArchivedUserById_notFound_throwsException() {
+        // Arrange
+        when(archivedUserRepository.findResponseById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            userService.getArchivedUserById(1L);
+        });
+        verify(archivedUserRepository).findResponseById(1L);
+        verifyNoMoreInteractions(archivedUserRepository, userRepository);
+    }
+
+    @Test
+    void getStatusHistory_returnsPagedHistory() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        UserStatusAuditResponse entry = new UserStatusAuditResponse(1L, 1L, 1L, UserStatus.PENDING_APPROVAL,
+                UserStatus.APPROVED, "PENDING_USER", "RESIDENT", "admin@example.com", null);
+        when(userStatusAuditRepository.findResponsesByUserId(1L, pageable)).thenReturn(new PageImpl<>(List.of(entry), pageable, 1));
+
+        // Act
+        Page<UserStatusAuditResponse> result = userService.getStatusHistory(1L, pageable);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(entry);
+        verify(userStatusAuditRepository).findResponsesByUserId(1L, pageable);
+        verifyNoMoreInteractions(userStatusAuditRepository, userRepository);
     }
 
     @Test
@@ -414,6 +619,7 @@ public class UserServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(UserStatus.REJECTED);
         assertThat(result.getRole().getName()).isEqualTo("PENDING_USER"); // Role remains PENDING_USER
+        assertThat(userToReject.getStatusChangedAt()).isNotNull(); // Archival ages rejected users from here
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
         verify(userMapper).toDomain(any(User.class));
@@ -0,0 +1,125 @@
+-- Partitioned vs. unpartitioned users table on a synthetic 10M-resident dataset.
+--
+--   createdb users_bench
+--   psql -d users_bench -v ON_ERROR_STOP=1 -f benchmark_users_10m.sql > benchmark.out
+--
+-- Builds two copies of the same data in separate schemas:
+--   bench_plain - one heap table, like the default Hibernate schema
+--   bench_part  - LIST-partitioned by apartment_id like db/partitioning/partition_users_by_apartment.sql,
+--                 with dedicated partitions for the 100 largest apartments and a default partition for the rest
+-- then runs the apartment-scoped queries the service issues against both with EXPLAIN (ANALYZE, BUFFERS).
+-- Compare "Execution Time", shared hit/read buffers, and which partitions appear in each plan.
+-- Generation takes several minutes and ~6 GB of disk; drop both schemas when done.
+
+\timing on
+SET max_parallel_workers_per_gather = 4;
+SET maintenance_work_mem = '1GB';
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+DROP SCHEMA IF EXISTS bench_plain CASCADE;
+DROP SCHEMA IF EXISTS bench_part CASCADE;
+CREATE SCHEMA bench_plain;
+CREATE SCHEMA bench_part;
+
+-- 10M residents over 5,000 apartments with a skewed size distribution (apartment 1 is the largest)
+SELECT setseed(0.35);
+CREATE UNLOGGED TABLE bench_plain.users AS
+SELECT g                                                                AS id,
+       'First' || (g % 50000)                                           AS first_name,
+       'Last' || (g % 80000)                                            AS last_name,
+       'resident' || g || '@example.com'                                AS email,
+       'x'                                                              AS password,
+       1 + floor(power(random(), 3) * 5000)::bigint                     AS apartment_id,
+       'Block ' || chr(65 + (g % 8))                                    AS block_name,
+       ((g % 40) + 1) || lpad(((g % 12) + 1)::text, 2, '0')             AS apartment_number,
+       (ARRAY['PENDING_APPROVAL', 'APPROVED', 'APPROVED', 'APPROVED', 'REJECTED'])[1 + (g % 5)] AS status,
+       2::bigint                                                        AS role_id,
+       now() - (g % 1000) * interval '1 hour'                           AS created_at,
+       0::bigint                                                        AS version
+FROM generate_series(1, 10000000) AS g;
+
+ALTER TABLE bench_plain.users ADD PRIMARY KEY (id);
+CREATE UNIQUE INDEX ON bench_plain.users (email);
+CREATE INDEX ON bench_plain.users (apartment_id, status);
+CREATE INDEX ON bench_plain.users USING gin (
+    apartment_id,
+    (lower(first_name || ' ' || last_name || ' ' || email || ' ' || apartment_number)) gin_trgm_ops
+);
+
+CREATE TABLE bench_part.users (LIKE bench_plain.users) PARTITION BY LIST (apartment_id);
+CREATE UNLOGGED TABLE bench_part.users_default PARTITION OF bench_part.users DEFAULT;
+
+DO $$
+DECLARE
+    apt bigint;
+BEGIN
+    FOR apt IN SELECT apartment_id FROM bench_plain.users GROUP BY apartment_id ORDER BY count(*) DESC LIMIT 100 LOOP
+        EXECUTE format('CREATE UNLOGGED TABLE bench_part.users_apt_%s PARTITION OF bench_part.users FOR VALUES IN (%s)', apt, apt);
+    END LOOP;
+END $$;
+
+INSERT INTO bench_part.users SELECT * FROM bench_plain.users;
+
+ALTER TABLE bench_part.users ADD PRIMARY KEY (id, apartment_id);
+CREATE INDEX ON bench_part.users (email);
+CREATE INDEX ON bench_part.users (apartment_id, status);
+CREATE INDEX ON bench_part.users USING gin (
+    apartment_id,
+    (lower(first_name || ' ' || last_name || ' ' || email || ' ' || apartment_number)) gin_trgm_ops
+);
+
+VACUUM ANALYZE bench_plain.users;
+VACUUM ANALYZE bench_part.users;
+
+SELECT 'bench_plain' AS schema, pg_size_pretty(pg_total_relation_size('bench_plain.users')) AS size
+UNION ALL
+SELECT 'bench_part', pg_size_pretty(sum(pg_total_relation_size(inhrelid)))
+FROM pg_inherits WHERE inhparent = 'bench_part.users'::regclass;
+
+-- Representative queries, run against each schema in turn. The large apartment (1) has its own
+-- partition; apartment 4321 is a small one living in the default partition.
+\set large_apt 1
+\set small_apt 4321
+
+\echo '=== Page of approved residents in one apartment (GET /api/v1/users?apartmentId=&status=) ==='
+SET search_path = bench_plain;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM users WHERE apartment_id = :large_apt AND status = 'APPROVED' ORDER BY id LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM users WHERE apartment_id = :large_apt AND status = 'APPROVED';
+SET search_path = bench_part;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM users WHERE apartment_id = :large_apt AND status = 'APPROVED' ORDER BY id LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM users WHERE apartment_id = :large_apt AND status = 'APPROVED';
+
+\echo '=== Same page for a small apartment in the default partition ==='
+SET search_path = bench_plain;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM users WHERE apartment_id = :small_apt ORDER BY id LIMIT 20;
+SET search_path = bench_part;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM users WHERE apartment_id = :small_apt ORDER BY id LIMIT 20;
+
+\echo '=== Resident directory search (GET /api/v1/users/search) ==='
+SET search_path = bench_plain;
+EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM users
+WHERE apartment_id = :large_apt AND lower(first_name || ' ' || last_name || ' ' || email || ' ' || apartment_number) LIKE '%last123%'
+LIMIT 20;
+SET search_path = bench_part;
+EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM users
+WHERE apartment_id = :large_apt AND lower(first_name || ' ' || last_name || ' ' || email || ' ' || apartment_number) LIKE '%last123%'
+LIMIT 20;
+
+\echo '=== Entity update, with @PartitionKey adding apartment_id to the WHERE clause ==='
+BEGIN;
+SET LOCAL search_path = bench_plain;
+EXPLAIN (ANALYZE, BUFFERS) UPDATE users SET first_name = 'Renamed', version = version + 1 WHERE id = 4242 AND version = 0;
+SET LOCAL search_path = bench_part;
+EXPLAIN (ANALYZE, BUFFERS) UPDATE users SET first_name = 'Renamed', version = version + 1
+WHERE id = 4242 AND apartment_id = (SELECT apartment_id FROM bench_plain.users WHERE id = 4242) AND version = 0;
+ROLLBACK;
+
+\echo '=== Unscoped lookup by email (login): not prunable, probes every partition index ==='
+SET search_path = bench_plain;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM users WHERE email = 'resident4242@example.com';
+SET search_path = bench_part;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM users WHERE email = 'resident4242@example.com';
+
+RESET search_path;